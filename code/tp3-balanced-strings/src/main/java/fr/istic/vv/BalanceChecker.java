@@ -0,0 +1,130 @@
+package fr.istic.vv;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Checks the balance of ()[]{} over input that arrives in pieces. The closing brackets
+// still expected are kept between calls to feed, so each piece is scanned once, as soon
+// as it is received. Same rules as StringUtils.isBalanced: any other character is a
+// mismatch. Not thread-safe.
+public class BalanceChecker {
+
+    private char[] expected = new char[16]; // closing brackets still expected, most recent last
+    private int depth;                      // number of slots of expected actually used
+    private long position;                  // number of characters fed so far
+    private long mismatch = -1;             // position of the first mismatch, -1 if none
+
+    // Scans chars[offset..offset + length); returns false if the input is unbalanced
+    public boolean feed(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        if (mismatch >= 0) {
+            return false; // nothing fed after a mismatch can fix it
+        }
+        for (int i = offset; i < offset + length; i++) {
+            if (!accept(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Scans the remaining characters of chars, which are all consumed; returns false if
+    // the input is unbalanced
+    public boolean feed(CharBuffer chars) {
+        if (chars.hasArray()) {
+            int start = chars.arrayOffset() + chars.position();
+            int length = chars.remaining();
+            chars.position(chars.limit());
+            return feed(chars.array(), start, length);
+        }
+        boolean balanced = mismatch < 0;
+        while (balanced && chars.hasRemaining()) {
+            balanced = accept(chars.get());
+        }
+        chars.position(chars.limit());
+        return balanced;
+    }
+
+    // Scans all the characters of chars; returns false if the input is unbalanced
+    public boolean feed(CharSequence chars) {
+        if (mismatch >= 0) {
+            return false;
+        }
+        for (int i = 0; i < chars.length(); i++) {
+            if (!accept(chars.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns true if no mismatch has been found, i.e. the input fed so far is the start
+    // of a balanced string
+    public boolean isBalancedSoFar() {
+        return mismatch < 0;
+    }
+
+    // Returns true if the input fed so far is balanced on its own
+    public boolean isComplete() {
+        return mismatch < 0 && depth == 0;
+    }
+
+    // Returns the position of the first character that broke the balance, or -1
+    public long mismatchOffset() {
+        return mismatch;
+    }
+
+    // Returns the number of brackets currently open
+    public int depth() {
+        return depth;
+    }
+
+    // Returns the number of characters scanned so far
+    public long position() {
+        return position;
+    }
+
+    // Forgets all the input fed so far, keeping the stack storage for the next message
+    public void reset() {
+        depth = 0;
+        position = 0;
+        mismatch = -1;
+    }
+
+    // Scans one character; returns false if it breaks the balance
+    boolean accept(char c) {
+        char closer = closerOf(c);
+        if (closer != 0) {
+            if (depth == expected.length) {
+                expected = Arrays.copyOf(expected, depth * 2);
+            }
+            expected[depth++] = closer;
+        } else if (depth > 0 && expected[depth - 1] == c) {
+            depth--;
+        } else {
+            mismatch = position;
+            return false; // depth still counts the brackets open before c
+        }
+        position++;
+        return true;
+    }
+
+    static char closerOf(char c) {
+        switch (c) {
+            case '(':
+                return ')';
+            case '[':
+                return ']';
+            case '{':
+                return '}';
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceChecker: " + position + " chars, depth " + depth + (mismatch < 0 ? "" : ", mismatch at " + mismatch);
+    }
+}
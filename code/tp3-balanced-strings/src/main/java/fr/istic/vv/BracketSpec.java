@@ -0,0 +1,153 @@
+package fr.istic.vv;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Precompiled grammar of delimiters for balance checks: any set of bracket pairs, quote
+// characters whose contents are ignored, an escape character and a line-comment marker.
+// The roles are compiled into a table indexed by character, so checking an input costs
+// one lookup per character. Unlike StringUtils.isBalanced(String), characters with no
+// role are ignored. Immutable and thread-safe.
+public final class BracketSpec {
+
+    private static final byte NONE = 0;
+    private static final byte OPEN = 1;
+    private static final byte CLOSE = 2;
+    private static final byte QUOTE = 3;
+    private static final byte ESCAPE = 4;
+    private static final byte COMMENT = 5;
+
+    private final byte[] roles;    // role of each character, NONE past the end
+    private final char[] closers;  // closer expected after each opening bracket
+    private final char escape;     // 0 if there is none
+    private final String comment;  // line-comment marker, empty if there is none
+
+    // Constructor (bracket pairs only, e.g. "()[]{}<>": each opener followed by its closer)
+    public BracketSpec(String pairs) {
+        this(pairs, "", (char) 0, "");
+    }
+
+    // Constructor (bracket pairs, quote characters, escape character or 0 for none,
+    // line-comment marker or "" for none). Inside quotes only the escape character and
+    // the closing quote count; outside, the escape character hides the next character.
+    public BracketSpec(String pairs, String quotes, char escape, String lineComment) {
+        if (pairs.isEmpty() || (pairs.length() & 1) != 0) {
+            throw new IllegalArgumentException("pairs must hold an even, non-zero number of characters: \"" + pairs + "\"");
+        }
+        char max = escape;
+        for (String chars : new String[]{pairs, quotes, lineComment.isEmpty() ? "" : lineComment.substring(0, 1)}) {
+            for (int i = 0; i < chars.length(); i++) {
+                max = (char) Math.max(max, chars.charAt(i));
+            }
+        }
+        this.roles = new byte[max + 1];
+        this.closers = new char[max + 1];
+        this.escape = escape;
+        this.comment = lineComment;
+        for (int i = 0; i < pairs.length(); i += 2) {
+            assign(pairs.charAt(i), OPEN);
+            assign(pairs.charAt(i + 1), CLOSE);
+            closers[pairs.charAt(i)] = pairs.charAt(i + 1);
+        }
+        for (int i = 0; i < quotes.length(); i++) {
+            assign(quotes.charAt(i), QUOTE);
+        }
+        if (escape != 0) {
+            assign(escape, ESCAPE);
+        }
+        if (!lineComment.isEmpty()) {
+            assign(lineComment.charAt(0), COMMENT);
+        }
+    }
+
+    // Returns true if the brackets of input are balanced
+    public boolean check(CharSequence input) {
+        return check(input, new Stack());
+    }
+
+    // Checks every input, reusing the same stack; result[i] tells whether inputs[i] is balanced
+    public boolean[] checkAll(List<? extends CharSequence> inputs) {
+        boolean[] result = new boolean[inputs.size()];
+        Stack stack = new Stack();
+        int i = 0;
+        for (CharSequence input : inputs) {
+            result[i++] = check(input, stack);
+        }
+        return result;
+    }
+
+    private boolean check(CharSequence input, Stack stack) {
+        int length = input.length();
+        int depth = 0;
+        char quote = 0; // quote character of the string being skipped, 0 if none
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            byte role = c < roles.length ? roles[c] : NONE;
+            if (role == NONE) {
+                continue;
+            }
+            if (quote != 0) {
+                if (role == ESCAPE) {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            switch (role) {
+                case OPEN:
+                    if (depth == stack.chars.length) {
+                        stack.chars = Arrays.copyOf(stack.chars, depth * 2);
+                    }
+                    stack.chars[depth++] = closers[c];
+                    break;
+                case CLOSE:
+                    if (depth == 0 || stack.chars[--depth] != c) {
+                        return false;
+                    }
+                    break;
+                case QUOTE:
+                    quote = c;
+                    break;
+                case ESCAPE:
+                    i++; // the next character is taken literally
+                    break;
+                default: // COMMENT
+                    if (startsWith(input, i, comment)) {
+                        while (i + 1 < length && input.charAt(i + 1) != '\n') {
+                            i++;
+                        }
+                    }
+                    break;
+            }
+        }
+        return depth == 0 && quote == 0;
+    }
+
+    private void assign(char c, byte role) {
+        if (c == 0) {
+            throw new IllegalArgumentException("the NUL character cannot be a delimiter");
+        }
+        if (roles[c] != NONE) {
+            throw new IllegalArgumentException("character '" + c + "' has two roles");
+        }
+        roles[c] = role;
+    }
+
+    private static boolean startsWith(CharSequence input, int offset, String prefix) {
+        if (input.length() - offset < prefix.length()) {
+            return false;
+        }
+        for (int i = 1; i < prefix.length(); i++) { // the first character is already known to match
+            if (input.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Closing brackets still expected, most recent last
+    private static final class Stack {
+        private char[] chars = new char[16];
+    }
+}
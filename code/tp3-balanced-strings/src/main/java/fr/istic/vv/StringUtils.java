@@ -1,16 +1,355 @@
 package fr.istic.vv;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 public class StringUtils {
 
+    private static final int BUFFER_SIZE = 8192;
+    private static final long MAP_CHUNK_BYTES = 1L << 28;
+    private static final String BRACKETS = "()[]{}";
+    private static final int PARALLEL_CHUNK = 1 << 16;
+
     private StringUtils() {}
 
+    // Single pass with a stack of the closing brackets still expected. Any character
+    // other than ()[]{} makes the string unbalanced. While a single kind of bracket has
+    // been seen, a depth counter stands for the stack.
     public static boolean isBalanced(String str) {
-        String prev;
-        do {
-            prev = str;
-            str = str.replace("()", "").replace("[]", "").replace("{}", "");
-        } while (!str.equals(prev));
-        return str.isEmpty();
+        int length = str.length();
+        if ((length & 1) != 0) {
+            return false; // every character is a bracket and brackets come in pairs
+        }
+        int depth = 0;
+        int i = 0;
+        char open = length == 0 ? 0 : str.charAt(0);
+        char close = BalanceChecker.closerOf(open);
+        if (close != 0) { // otherwise the stack loop rejects the first character
+            for (; i < length; i++) {
+                char c = str.charAt(i);
+                if (c == open) {
+                    if (++depth > length - i - 1) {
+                        return false; // not enough characters left to close everything
+                    }
+                } else if (c == close) {
+                    if (--depth < 0) {
+                        return false;
+                    }
+                } else {
+                    break; // another kind of bracket, or not a bracket at all
+                }
+            }
+        }
+        if (i == length) {
+            return depth == 0;
+        }
+        char[] expected = new char[Math.max(16, depth * 2)];
+        Arrays.fill(expected, 0, depth, close); // what the counter stood for
+        for (; i < length; i++) {
+            char c = str.charAt(i);
+            char closer = BalanceChecker.closerOf(c);
+            if (closer != 0) {
+                if (depth >= length - i - 1) {
+                    return false;
+                }
+                if (depth == expected.length) {
+                    expected = Arrays.copyOf(expected, depth * 2);
+                }
+                expected[depth++] = closer;
+            } else if (depth == 0 || expected[--depth] != c) {
+                return false;
+            }
+        }
+        return depth == 0;
+    }
+
+    // Checks str against the delimiters of spec; see BracketSpec
+    public static boolean isBalanced(String str, BracketSpec spec) {
+        return spec.check(str);
+    }
+
+    // Same result as isBalanced, computed by the common fork-join pool
+    public static boolean isBalancedParallel(String str) {
+        return isBalancedParallel(str, ForkJoinPool.commonPool());
+    }
+
+    // Same result as isBalanced, computed by pool. Each chunk of the string is reduced to
+    // the closers it leaves unmatched followed by the openers it leaves open, and adjacent
+    // summaries are combined by matching the openers of the left one with the closers of
+    // the right one.
+    public static boolean isBalancedParallel(String str, ForkJoinPool pool) {
+        if (str.length() <= PARALLEL_CHUNK) {
+            return isBalanced(str);
+        }
+        if ((str.length() & 1) != 0) {
+            return false; // every character is a bracket and brackets come in pairs
+        }
+        Summary summary = pool.invoke(new BalanceTask(str, 0, str.length()));
+        return !summary.failed && summary.closerCount == 0 && summary.openerCount == 0;
+    }
+
+    public static boolean isBalanced(Reader reader) throws IOException {
+        return indexOfMismatch(reader) < 0;
+    }
+
+    public static boolean isBalanced(InputStream in, Charset charset) throws IOException {
+        return indexOfMismatch(in, charset) < 0;
+    }
+
+    public static boolean isBalanced(ReadableByteChannel channel) throws IOException {
+        return indexOfMismatch(channel) < 0;
+    }
+
+    // Reads reader to the end and returns the offset (in chars) of the first character
+    // that breaks the balance, the number of chars read if brackets are left open at the
+    // end, or -1 if the input is balanced. Only the bracket stack is kept in memory.
+    public static long indexOfMismatch(Reader reader) throws IOException {
+        BalanceChecker checker = new BalanceChecker();
+        char[] buffer = new char[BUFFER_SIZE];
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            if (!checker.feed(buffer, 0, n)) {
+                return checker.mismatchOffset();
+            }
+        }
+        return checker.isComplete() ? -1 : checker.position();
+    }
+
+    // Same as indexOfMismatch(Reader), with offsets in bytes. Charsets that write the
+    // brackets as their ASCII bytes, like UTF-8, are scanned without decoding: any other
+    // byte starts a character that is not a bracket.
+    public static long indexOfMismatch(InputStream in, Charset charset) throws IOException {
+        if (!isAsciiCompatible(charset)) {
+            return indexOfMismatchDecoding(in, charset);
+        }
+        BalanceChecker checker = new BalanceChecker();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long offset = 0;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            for (int i = 0; i < n; i++) {
+                if (!checker.accept((char) (buffer[i] & 0xFF))) {
+                    return offset + i;
+                }
+            }
+            offset += n;
+        }
+        return checker.depth() == 0 ? -1 : offset;
+    }
+
+    // Same as indexOfMismatch(InputStream, Charset) for UTF-8 (or ASCII) bytes read from
+    // the current position of channel; offsets are relative to that position. A
+    // FileChannel is memory-mapped chunk by chunk instead of being copied into a buffer.
+    public static long indexOfMismatch(ReadableByteChannel channel) throws IOException {
+        if (channel instanceof FileChannel) {
+            return indexOfMismatch((FileChannel) channel, MAP_CHUNK_BYTES);
+        }
+        BalanceChecker checker = new BalanceChecker();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long offset = 0;
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            int n = buffer.limit();
+            for (int i = 0; i < n; i++) {
+                if (!checker.accept((char) (buffer.get(i) & 0xFF))) {
+                    return offset + i;
+                }
+            }
+            offset += n;
+            buffer.clear();
+        }
+        return checker.depth() == 0 ? -1 : offset;
+    }
+
+    // Visible for tests, to cross several mapped chunks with small files
+    static long indexOfMismatch(FileChannel channel, long chunkBytes) throws IOException {
+        BalanceChecker checker = new BalanceChecker();
+        long start = channel.position();
+        long end = channel.size();
+        for (long position = start; position < end; position += chunkBytes) {
+            long length = Math.min(chunkBytes, end - position);
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                if (!checker.accept((char) (chunk.get(i) & 0xFF))) {
+                    return position - start + i;
+                }
+            }
+        }
+        return checker.depth() == 0 ? -1 : Math.max(end - start, 0);
+    }
+
+    // Decodes one character at a time, so that the byte offset of each one is known
+    private static long indexOfMismatchDecoding(InputStream in, Charset charset) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        BalanceChecker checker = new BalanceChecker();
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer decoded = CharBuffer.allocate(1);
+        long consumed = 0; // bytes dropped from the front of the buffer so far
+        boolean eof = false;
+        while (true) {
+            int n = in.read(bytes.array(), bytes.position(), bytes.remaining());
+            if (n == -1) {
+                eof = true;
+            } else {
+                bytes.position(bytes.position() + n);
+            }
+            bytes.flip();
+            while (true) {
+                int start = bytes.position();
+                decoded.clear();
+                CoderResult result = decoder.decode(bytes, decoded, eof);
+                if (decoded.position() == 1) {
+                    if (!checker.accept(decoded.get(0))) {
+                        return consumed + start;
+                    }
+                } else if (result.isError() || result.isOverflow()) {
+                    return consumed + start; // invalid bytes or a surrogate pair, not a bracket
+                } else {
+                    break; // needs more input
+                }
+            }
+            consumed += bytes.position();
+            bytes.compact();
+            if (eof) {
+                return checker.depth() == 0 ? -1 : consumed;
+            }
+        }
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1)) {
+            return true;
+        }
+        if (!charset.canEncode()) {
+            return false;
+        }
+        CharsetEncoder encoder = charset.newEncoder();
+        if (encoder.maxBytesPerChar() != 1) {
+            return false;
+        }
+        try {
+            ByteBuffer encoded = encoder.encode(CharBuffer.wrap(BRACKETS));
+            return encoded.equals(ByteBuffer.wrap(BRACKETS.getBytes(StandardCharsets.US_ASCII)));
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    // Unmatched brackets left by a slice of the string: closers in order of appearance,
+    // then the closers expected by the openers still open, most recent last
+    private static final class Summary {
+        private char[] closers = new char[16];
+        private int closerCount;
+        private char[] openers = new char[16];
+        private int openerCount;
+        private boolean failed; // a mismatch no other slice can fix
+
+        static Summary of(String str, int from, int to) {
+            Summary summary = new Summary();
+            for (int i = from; i < to; i++) {
+                char c = str.charAt(i);
+                char closer = BalanceChecker.closerOf(c);
+                if (closer != 0) {
+                    summary.openers = push(summary.openers, summary.openerCount++, closer);
+                } else if (c != ')' && c != ']' && c != '}') {
+                    summary.failed = true;
+                    return summary;
+                } else if (summary.openerCount > 0) {
+                    if (summary.openers[--summary.openerCount] != c) {
+                        summary.failed = true;
+                        return summary;
+                    }
+                } else {
+                    summary.closers = push(summary.closers, summary.closerCount++, c);
+                }
+            }
+            return summary;
+        }
+
+        // Summary of this slice followed by right, reusing the storage of both
+        Summary combine(Summary right) {
+            if (failed || right.failed) {
+                failed = true;
+                return this;
+            }
+            int matched = Math.min(openerCount, right.closerCount);
+            for (int k = 0; k < matched; k++) {
+                if (openers[openerCount - 1 - k] != right.closers[k]) {
+                    failed = true;
+                    return this;
+                }
+            }
+            openerCount -= matched;
+            if (openerCount == 0) { // right's openers remain, after closers of both slices
+                right.closers = append(closers, closerCount, right.closers, matched, right.closerCount - matched);
+                right.closerCount = closerCount + right.closerCount - matched;
+                return right;
+            }
+            openers = append(openers, openerCount, right.openers, 0, right.openerCount);
+            openerCount += right.openerCount;
+            return this;
+        }
+
+        private static char[] push(char[] stack, int size, char c) {
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size] = c;
+            return stack;
+        }
+
+        private static char[] append(char[] a, int aSize, char[] b, int bFrom, int bSize) {
+            if (aSize + bSize > a.length) {
+                a = Arrays.copyOf(a, Math.max(aSize + bSize, a.length * 2));
+            }
+            System.arraycopy(b, bFrom, a, aSize, bSize);
+            return a;
+        }
+    }
+
+    private static final class BalanceTask extends RecursiveTask<Summary> {
+        private static final long serialVersionUID = 1L;
+
+        private final String str;
+        private final int from;
+        private final int to;
+
+        BalanceTask(String str, int from, int to) {
+            this.str = str;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from <= PARALLEL_CHUNK) {
+                return Summary.of(str, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            BalanceTask left = new BalanceTask(str, from, mid);
+            left.fork();
+            Summary right = new BalanceTask(str, mid, to).compute();
+            return left.join().combine(right);
+        }
     }
 
 }
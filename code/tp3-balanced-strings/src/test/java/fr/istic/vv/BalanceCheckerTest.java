@@ -0,0 +1,101 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceCheckerTest {
+
+    @Test
+    void testFeedInChunks() {
+        BalanceChecker checker = new BalanceChecker();
+        char[] message = "{[(".toCharArray();
+
+        assertTrue(checker.feed(message, 0, message.length));
+        assertTrue(checker.isBalancedSoFar());
+        assertFalse(checker.isComplete()); // Brackets still open
+        assertEquals(3, checker.depth());
+
+        assertTrue(checker.feed(")]}"));
+        assertTrue(checker.isComplete());
+        assertEquals(6, checker.position());
+    }
+
+    @Test
+    void testFeedSplitsAnywhere() {
+        String str = "([]{()})[]";
+        for (int split = 0; split <= str.length(); split++) {
+            BalanceChecker checker = new BalanceChecker();
+            checker.feed(str.substring(0, split));
+            checker.feed(str.substring(split));
+            assertTrue(checker.isComplete(), "split at " + split);
+        }
+    }
+
+    @Test
+    void testMismatchIsSticky() {
+        BalanceChecker checker = new BalanceChecker();
+        assertFalse(checker.feed("((]"));
+        assertEquals(2, checker.mismatchOffset());
+        assertEquals(2, checker.depth()); // The mismatched closer pops nothing
+
+        assertFalse(checker.feed(")")); // Nothing can fix a mismatch
+        assertFalse(checker.isBalancedSoFar());
+        assertFalse(checker.isComplete());
+    }
+
+    @Test
+    void testNonBracketCharacter() {
+        BalanceChecker checker = new BalanceChecker();
+        assertFalse(checker.feed("()x"));
+        assertEquals(2, checker.mismatchOffset());
+    }
+
+    @Test
+    void testFeedArrayRange() {
+        BalanceChecker checker = new BalanceChecker();
+        char[] chars = "x()x".toCharArray();
+        assertTrue(checker.feed(chars, 1, 2));
+        assertTrue(checker.isComplete());
+        assertThrows(IndexOutOfBoundsException.class, () -> checker.feed(chars, 3, 2));
+    }
+
+    @Test
+    void testFeedCharBuffer() {
+        BalanceChecker checker = new BalanceChecker();
+        CharBuffer heap = CharBuffer.wrap("x[[".toCharArray());
+        heap.position(1);
+        assertTrue(checker.feed(heap));
+        assertFalse(heap.hasRemaining()); // Consumed
+
+        CharBuffer readOnly = CharBuffer.wrap("]]"); // Not backed by an array
+        assertTrue(checker.feed(readOnly));
+        assertTrue(checker.isComplete());
+    }
+
+    @Test
+    void testReset() {
+        BalanceChecker checker = new BalanceChecker();
+        checker.feed("(((]");
+        checker.reset();
+
+        assertTrue(checker.isComplete());
+        assertEquals(-1, checker.mismatchOffset());
+        assertEquals(0, checker.position());
+        assertTrue(checker.feed("[]"));
+        assertTrue(checker.isComplete());
+    }
+
+    @Test
+    void testDeepNesting() {
+        BalanceChecker checker = new BalanceChecker();
+        for (int i = 0; i < 100_000; i++) {
+            checker.feed("{");
+        }
+        assertEquals(100_000, checker.depth());
+        checker.feed("}".repeat(100_000));
+        assertTrue(checker.isComplete());
+    }
+}
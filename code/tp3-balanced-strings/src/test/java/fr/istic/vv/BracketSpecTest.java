@@ -0,0 +1,82 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketSpecTest {
+
+    @Test
+    void testCheckCustomPairs() {
+        BracketSpec spec = new BracketSpec("()<>");
+        assertTrue(spec.check("<a(b)c>"));
+        assertFalse(spec.check("<(>)"));
+        assertTrue(spec.check("[")); // Not a delimiter of this spec
+    }
+
+    @Test
+    void testCheckIgnoresOtherCharacters() {
+        BracketSpec spec = new BracketSpec("()[]{}");
+        assertTrue(spec.check("f(x[i], {a: 1})"));
+        assertFalse(spec.check("f(x[i)]"));
+        assertTrue(spec.check("é€ plain text"));
+    }
+
+    @Test
+    void testCheckQuotes() {
+        BracketSpec spec = new BracketSpec("()", "\"'", '\\', "");
+        assertTrue(spec.check("f(\")\")"));
+        assertTrue(spec.check("f('\"(')")); // Other quote character is plain text inside quotes
+        assertTrue(spec.check("f(\"a\\\"(\")")); // Escaped quote does not end the string
+        assertFalse(spec.check("f(\"unterminated)"));
+    }
+
+    @Test
+    void testCheckEscapeOutsideQuotes() {
+        BracketSpec spec = new BracketSpec("()", "", '\\', "");
+        assertTrue(spec.check("(\\))"));
+        assertFalse(spec.check("\\(("));
+    }
+
+    @Test
+    void testCheckLineComment() {
+        BracketSpec spec = new BracketSpec("{}", "", (char) 0, "//");
+        assertTrue(spec.check("{ // }\n}"));
+        assertFalse(spec.check("{ / }\n}")); // A single slash is not the marker
+        assertTrue(spec.check("{} // {"));
+    }
+
+    @Test
+    void testConstructorRejectsInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> new BracketSpec(""));
+        assertThrows(IllegalArgumentException.class, () -> new BracketSpec("(()"));
+        assertThrows(IllegalArgumentException.class, () -> new BracketSpec("||"));
+        assertThrows(IllegalArgumentException.class, () -> new BracketSpec("()", "(", (char) 0, ""));
+    }
+
+    @Test
+    void testCheckAll() {
+        BracketSpec spec = new BracketSpec("()[]{}", "'", (char) 0, "");
+        List<String> inputs = Arrays.asList("${a[(1)]}", "{'}'", "", "(".repeat(1000) + ")".repeat(1000), "(]");
+
+        boolean[] result = spec.checkAll(inputs);
+
+        assertArrayEquals(new boolean[]{true, false, true, true, false}, result);
+    }
+
+    @Test
+    void testCheckAllStartsEachInputFresh() {
+        BracketSpec spec = new BracketSpec("()");
+        boolean[] result = spec.checkAll(Arrays.asList("((", "))"));
+        assertArrayEquals(new boolean[]{false, false}, result); // Open brackets do not carry over
+    }
+
+    @Test
+    void testIsBalancedWithSpec() {
+        assertTrue(StringUtils.isBalanced("(a)", new BracketSpec("()")));
+        assertFalse(StringUtils.isBalanced("(a)")); // The default check stays strict
+    }
+}
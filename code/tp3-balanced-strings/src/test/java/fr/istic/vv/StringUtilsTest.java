@@ -2,7 +2,22 @@ package fr.istic.vv;
 
 import org.junit.jupiter.api.Test;
 
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static fr.istic.vv.StringUtils.indexOfMismatch;
 import static fr.istic.vv.StringUtils.isBalanced;
+import static fr.istic.vv.StringUtils.isBalancedParallel;
 import static org.junit.jupiter.api.Assertions.*;
 
 class StringUtilsTest {
@@ -61,4 +76,168 @@ class StringUtilsTest {
         assertTrue(isBalanced("((()))"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testIsBalancedNonBracketCharacters() {
+        assertFalse(isBalanced("(a)"));
+        assertFalse(isBalanced("a"));
+        assertFalse(isBalanced("( )"));
+    }
+
+    @Test
+    void testIsBalancedDeepNesting() {
+        int depth = 500_000;
+        String str = "(".repeat(depth) + ")".repeat(depth);
+        assertTrue(isBalanced(str));
+        assertFalse(isBalanced(str + "("));
+        assertFalse(isBalanced(str.substring(1)));
+    }
+
+    @Test
+    void testIsBalancedSingleKindThenMixed() {
+        assertTrue(isBalanced("(([]{}))"));
+        assertTrue(isBalanced("((()))[]"));
+        assertFalse(isBalanced("((([)))]"));
+        assertFalse(isBalanced("(((]))"));
+        assertFalse(isBalanced("())(")); // Counter goes below zero
+        assertFalse(isBalanced("((((()")); // Too many openers for the characters left
+        assertFalse(isBalanced("\0\0()")); // NUL is not a bracket either
+        assertFalse(isBalanced("\0\0\0\0(())"));
+    }
+
+    @Test
+    void testIsBalancedMatchesReplaceLoop() {
+        Random random = new Random(7);
+        String[] alphabets = {"()[]{}", "()[]{}x\0", "()\0", "[]x"}; // Some with a single kind of bracket
+        for (int i = 0; i < 20_000; i++) {
+            String alphabet = alphabets[random.nextInt(alphabets.length)];
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String str = sb.toString();
+            assertEquals(isBalancedByReplace(str), isBalanced(str), str);
+        }
+    }
+
+    // The original fixed-point implementation, kept as a reference
+    private static boolean isBalancedByReplace(String str) {
+        String prev;
+        do {
+            prev = str;
+            str = str.replace("()", "").replace("[]", "").replace("{}", "");
+        } while (!str.equals(prev));
+        return str.isEmpty();
+    }
+
+    @Test
+    void testIndexOfMismatchReader() throws IOException {
+        assertEquals(-1, indexOfMismatch(new StringReader("{[()]}")));
+        assertEquals(3, indexOfMismatch(new StringReader("([(}])"))); // Unexpected closer
+        assertEquals(4, indexOfMismatch(new StringReader("(()("))); // Left open, reports the end
+        assertTrue(isBalanced(new StringReader("")));
+    }
+
+    @Test
+    void testIndexOfMismatchReaderAcrossBuffers() throws IOException {
+        String str = "[".repeat(10_000) + "]".repeat(10_000);
+        assertEquals(-1, indexOfMismatch(new StringReader(str)));
+        assertEquals(15_000, indexOfMismatch(new StringReader(str.substring(0, 15_000) + "x")));
+    }
+
+    @Test
+    void testIndexOfMismatchInputStreamUtf8() throws IOException {
+        byte[] bytes = "(é)".getBytes(StandardCharsets.UTF_8);
+        assertEquals(1, indexOfMismatch(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+        assertTrue(isBalanced(new ByteArrayInputStream("{}[]".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testIndexOfMismatchInputStreamUtf16() throws IOException {
+        byte[] balanced = "([])".getBytes(StandardCharsets.UTF_16BE);
+        assertEquals(-1, indexOfMismatch(new ByteArrayInputStream(balanced), StandardCharsets.UTF_16BE));
+
+        byte[] unbalanced = "([)]".getBytes(StandardCharsets.UTF_16LE);
+        assertEquals(4, indexOfMismatch(new ByteArrayInputStream(unbalanced), StandardCharsets.UTF_16LE)); // Byte offset of ')'
+
+        byte[] open = "((".getBytes(StandardCharsets.UTF_16BE);
+        assertEquals(4, indexOfMismatch(new ByteArrayInputStream(open), StandardCharsets.UTF_16BE));
+    }
+
+    @Test
+    void testIndexOfMismatchInputStreamMalformed() throws IOException {
+        byte[] bytes = {0, '(', 0, ')', 0}; // Truncated UTF-16 character at the end
+        assertEquals(4, indexOfMismatch(new ByteArrayInputStream(bytes), StandardCharsets.UTF_16BE));
+    }
+
+    @Test
+    void testIndexOfMismatchChannel() throws IOException {
+        byte[] bytes = "{()}]".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(4, indexOfMismatch(Channels.newChannel(new ByteArrayInputStream(bytes))));
+    }
+
+    @Test
+    void testIndexOfMismatchMappedFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("brackets.txt");
+        Files.write(file, ("(".repeat(100) + ")".repeat(100)).getBytes(StandardCharsets.US_ASCII));
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertTrue(isBalanced(channel));
+            assertEquals(-1, StringUtils.indexOfMismatch(channel, 7)); // Many small mapped chunks
+            channel.position(1);
+            assertEquals(198, StringUtils.indexOfMismatch(channel, 7)); // Extra closer, offset from the position
+        }
+    }
+
+    @Test
+    void testIsBalancedParallelSmallInputs() {
+        assertTrue(isBalancedParallel(""));
+        assertTrue(isBalancedParallel("{[()]}"));
+        assertFalse(isBalancedParallel("([)]"));
+    }
+
+    @Test
+    void testIsBalancedParallelDeepNesting() {
+        int depth = 300_000;
+        String str = "[".repeat(depth) + "]".repeat(depth); // Every chunk only opens or only closes
+        assertTrue(isBalancedParallel(str));
+        assertFalse(isBalancedParallel("[".repeat(depth) + ")" + "]".repeat(depth - 1)));
+    }
+
+    @Test
+    void testIsBalancedParallelMatchesIsBalanced() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(11);
+            for (int i = 0; i < 20; i++) {
+                String str = randomBalanced(random, 300_000);
+                assertTrue(isBalancedParallel(str, pool));
+
+                char[] chars = str.toCharArray();
+                int index = random.nextInt(chars.length);
+                chars[index] = "()[]{}x".charAt(random.nextInt(7)); // Usually breaks the balance
+                String mutated = new String(chars);
+                assertEquals(isBalanced(mutated), isBalancedParallel(mutated, pool), "changed index " + index);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String randomBalanced(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        StringBuilder open = new StringBuilder();
+        while (sb.length() + open.length() < length) {
+            if (open.length() > 0 && random.nextBoolean()) {
+                sb.append(open.charAt(open.length() - 1));
+                open.setLength(open.length() - 1);
+            } else {
+                int type = random.nextInt(3);
+                sb.append("([{".charAt(type));
+                open.append(")]}".charAt(type));
+            }
+        }
+        return sb.append(open.reverse()).toString();
+    }
+
+}
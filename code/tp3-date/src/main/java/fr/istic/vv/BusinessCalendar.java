@@ -0,0 +1,199 @@
+package fr.istic.vv;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Working-day calendar over a fixed span of years. At construction every day of the span
+ * becomes one bit (set for business days, clear for weekends and holidays), and the
+ * number of business days before each 64-day word is stored alongside. Counting business
+ * days between two dates is then O(1), and moving a date by a number of business days
+ * is O(log n), instead of walking the calendar one nextDate() at a time.
+ */
+public class BusinessCalendar {
+
+    private final int firstDay;   // epoch day of 01/01 of the first year
+    private final int length;     // number of days in the calendar
+    private final long[] bits;    // bit i of word w is set if day 64 * w + i is a business day
+    private final int[] prefix;   // prefix[w] = business days in words 0 to w - 1
+
+    /**
+     * Constructs the calendar of the years fromYear to toYear, both inclusive.
+     *
+     * @param fromYear The first year covered by the calendar.
+     * @param toYear The last year covered by the calendar.
+     * @param weekend The days of the week that are never worked. Must not be null.
+     * @param holidays The dates that are not worked. Must not be null; dates outside the
+     *                 covered years are ignored.
+     * @throws IllegalArgumentException if the years are invalid or toYear is before fromYear.
+     */
+    public BusinessCalendar(int fromYear, int toYear, Set<DayOfWeek> weekend, Collection<Date> holidays) {
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("Invalid year span: " + fromYear + " to " + toYear);
+        }
+        Date first = new Date(1, 1, fromYear);
+        Date last = new Date(31, 12, toYear);
+        this.firstDay = first.toEpochDay();
+        this.length = first.daysBetween(last) + 1;
+        this.bits = new long[(length + 63) >>> 6];
+        this.prefix = new int[bits.length + 1];
+
+        boolean[] closed = new boolean[7]; // indexed by DayOfWeek ordinal, 0 for Monday
+        for (DayOfWeek day : weekend) {
+            closed[day.ordinal()] = true;
+        }
+        int dayOfWeek = first.dayOfWeek().ordinal();
+        for (int i = 0; i < length; i++) {
+            if (!closed[dayOfWeek]) {
+                bits[i >>> 6] |= 1L << i;
+            }
+            dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1;
+        }
+        for (Date holiday : holidays) {
+            int offset = holiday.toEpochDay() - firstDay;
+            if (offset >= 0 && offset < length) {
+                bits[offset >>> 6] &= ~(1L << offset);
+            }
+        }
+        for (int w = 0; w < bits.length; w++) {
+            prefix[w + 1] = prefix[w] + Long.bitCount(bits[w]);
+        }
+    }
+
+    /**
+     * Reads a list of holidays from a text file, one date per line, written either as
+     * "DD/MM/YYYY" or "YYYY-MM-DD". Blank lines and lines starting with '#' are ignored.
+     *
+     * @param file The file to read, encoded in UTF-8.
+     * @return The set of dates found in the file.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a line does not hold a valid date.
+     */
+    public static Set<Date> loadHolidays(Path file) throws IOException {
+        Set<Date> holidays = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    holidays.add(Date.parse(line));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(file + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return holidays;
+    }
+
+    /**
+     * Tells whether the given date is a business day.
+     *
+     * @param date The date to check. Must lie within the calendar.
+     * @return true if date is neither a weekend day nor a holiday.
+     * @throws IllegalArgumentException if date lies outside the calendar.
+     */
+    public boolean isBusinessDay(Date date) {
+        int offset = offsetOf(date);
+        return (bits[offset >>> 6] & (1L << offset)) != 0;
+    }
+
+    /**
+     * Counts the business days from one date (inclusive) to another (exclusive).
+     *
+     * @param from The first date of the span. Must lie within the calendar, or be the
+     *             day after its last day.
+     * @param to The date just after the span. Must lie within the calendar, or be the day
+     *           after its last day, so that spans can reach 31/12 of the last year.
+     * @return The number of business days d such that from &lt;= d &lt; to, negated if to
+     *         is before from.
+     * @throws IllegalArgumentException if a date lies outside these bounds.
+     */
+    public int countBusinessDays(Date from, Date to) {
+        return rank(boundOf(to)) - rank(boundOf(from));
+    }
+
+    /**
+     * Moves a date by a number of business days. With a positive count the result is the
+     * count-th business day after date; with a negative count, the one before date; with
+     * zero, date itself.
+     *
+     * @param date The starting date. Must lie within the calendar.
+     * @param count The number of business days to move by.
+     * @return The business day reached.
+     * @throws IllegalArgumentException if date or the result lies outside the calendar.
+     */
+    public Date addBusinessDays(Date date, int count) {
+        int offset = offsetOf(date);
+        if (count == 0) {
+            return date;
+        }
+        long target = count > 0
+                ? (long) rank(offset + 1) + count - 1 // business days up to date have ranks below rank(offset + 1)
+                : (long) rank(offset) + count;
+        if (target < 0 || target >= prefix[bits.length]) {
+            throw new IllegalArgumentException("Moving " + date + " by " + count + " business days leaves the calendar");
+        }
+        return Date.ofEpochDay(firstDay + select((int) target));
+    }
+
+    /**
+     * Returns the number of business days among the first offset days of the calendar.
+     */
+    private int rank(int offset) {
+        int word = offset >>> 6;
+        int bit = offset & 63;
+        return bit == 0 ? prefix[word] : prefix[word] + Long.bitCount(bits[word] & ((1L << bit) - 1));
+    }
+
+    /**
+     * Returns the offset of the business day of the given rank (0 for the first one).
+     */
+    private int select(int rank) {
+        int low = 0;
+        int high = bits.length - 1;
+        while (low < high) { // last word whose prefix is not above rank
+            int mid = (low + high + 1) >>> 1;
+            if (prefix[mid] <= rank) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long word = bits[low];
+        for (int i = rank - prefix[low]; i > 0; i--) {
+            word &= word - 1; // drop the lowest business day of the word
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Same as offsetOf, also accepting the day after the calendar as an exclusive bound.
+     */
+    private int boundOf(Date date) {
+        int offset = date.toEpochDay() - firstDay;
+        if (offset < 0 || offset > length) {
+            throw new IllegalArgumentException("Date outside the calendar: " + date);
+        }
+        return offset;
+    }
+
+    private int offsetOf(Date date) {
+        int offset = date.toEpochDay() - firstDay;
+        if (offset < 0 || offset >= length) {
+            throw new IllegalArgumentException("Date outside the calendar: " + date);
+        }
+        return offset;
+    }
+}
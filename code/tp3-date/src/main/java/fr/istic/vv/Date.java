@@ -1,11 +1,47 @@
 package fr.istic.vv;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.util.Comparator;
 
 public class Date implements Comparable<Date> {
-    private final int day;
-    private final int month;
-    private final int year;
+    /**
+     * The largest year a Date can represent. It keeps every epoch day within an int.
+     */
+    public static final int MAX_YEAR = 999_999;
+
+    /**
+     * Days in each month of a common year, indexed by month number (index 0 unused).
+     */
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private static final int MIN_EPOCH_DAY = daysFromCivil(1, 1, 1);
+    private static final int MAX_EPOCH_DAY = daysFromCivil(MAX_YEAR, 12, 31);
+
+    /**
+     * Orders dates chronologically by comparing their {@link #toSortKey() sort keys}.
+     */
+    public static final Comparator<Date> SORT_KEY_ORDER = (a, b) -> Integer.compare(a.toSortKey(), b.toSortKey());
+
+    /**
+     * Shared instances returned by the factories, one slot per day of the years
+     * [fr.istic.vv.Date.cacheMinYear, fr.istic.vv.Date.cacheMaxYear] (system properties,
+     * 1900 and 2100 by default). Slots are filled lazily. Two threads may race to fill
+     * the same slot; that is harmless because a Date only has final fields, so
+     * whichever instance wins is fully visible to all threads.
+     */
+    private static final int CACHE_MIN_YEAR = Math.max(1, Integer.getInteger("fr.istic.vv.Date.cacheMinYear", 1900));
+    private static final int CACHE_MAX_YEAR = Math.min(MAX_YEAR, Integer.getInteger("fr.istic.vv.Date.cacheMaxYear", 2100));
+    private static final int CACHE_FIRST_DAY = daysFromCivil(CACHE_MIN_YEAR, 1, 1);
+    private static final Date[] CACHE = new Date[CACHE_MIN_YEAR > CACHE_MAX_YEAR ? 0
+            : daysFromCivil(CACHE_MAX_YEAR, 12, 31) - CACHE_FIRST_DAY + 1];
+
+    /**
+     * Number of days since 01/01/1970 (negative before it), the only state of a Date.
+     * Day, month and year are derived from it on demand.
+     */
+    private final int epochDay;
 
     /**
      * Constructs a Date object with the specified day, month, and year.
@@ -14,16 +50,123 @@ public class Date implements Comparable<Date> {
      *
      * @param day The day of the month (1-31, depending on the month and year).
      * @param month The month of the year (1 for January, 12 for December).
-     * @param year The year (must be a positive integer).
+     * @param year The year (from 1 to {@link #MAX_YEAR}).
      * @throws IllegalArgumentException if the provided date is not valid.
      */
     public Date(int day, int month, int year) {
         if (!isValidDate(day, month, year)) {
             throw new IllegalArgumentException("Invalid date provided: " + day + "/" + month + "/" + year);
         }
-        this.day = day;
-        this.month = month;
-        this.year = year;
+        this.epochDay = daysFromCivil(year, month, day);
+    }
+
+    private Date(int epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * Returns a Date for the specified day, month, and year, validated like the constructor.
+     * Within the cached year range the same immutable instance is returned for equal
+     * dates, so code handling many repeated dates does not allocate one object per value.
+     *
+     * @param day The day of the month (1-31, depending on the month and year).
+     * @param month The month of the year (1 for January, 12 for December).
+     * @param year The year (from 1 to {@link #MAX_YEAR}).
+     * @return A Date representing the given day, possibly shared.
+     * @throws IllegalArgumentException if the provided date is not valid.
+     */
+    public static Date of(int day, int month, int year) {
+        if (!isValidDate(day, month, year)) {
+            throw new IllegalArgumentException("Invalid date provided: " + day + "/" + month + "/" + year);
+        }
+        return cached(daysFromCivil(year, month, day));
+    }
+
+    /**
+     * Returns the shared instance for epochDay if it falls in the cached range,
+     * or a new Date otherwise.
+     */
+    private static Date cached(int epochDay) {
+        int index = epochDay - CACHE_FIRST_DAY;
+        if (index < 0 || index >= CACHE.length) {
+            return new Date(epochDay);
+        }
+        Date date = CACHE[index];
+        if (date == null) {
+            date = new Date(epochDay);
+            CACHE[index] = date;
+        }
+        return date;
+    }
+
+    /**
+     * Returns the Date that lies the given number of days after 01/01/1970.
+     *
+     * @param epochDay The number of days since 01/01/1970, negative for earlier dates.
+     * @return The corresponding Date, shared like the ones returned by {@link #of(int, int, int)}.
+     * @throws IllegalArgumentException if the day falls outside the years 1 to {@link #MAX_YEAR}.
+     */
+    public static Date ofEpochDay(long epochDay) {
+        if (!isValidEpochDay(epochDay)) {
+            throw new IllegalArgumentException("Date out of range: epoch day " + epochDay);
+        }
+        return cached((int) epochDay);
+    }
+
+    /**
+     * Tells whether epochDay falls within the years 1 to {@link #MAX_YEAR}.
+     */
+    static boolean isValidEpochDay(long epochDay) {
+        return epochDay >= MIN_EPOCH_DAY && epochDay <= MAX_EPOCH_DAY;
+    }
+
+    /**
+     * Parses a date written either as "DD/MM/YYYY" (the format of {@link #toString()})
+     * or as ISO "YYYY-MM-DD". Day and month take exactly two digits, the year four to
+     * six digits. The text is scanned in place, without creating any intermediate object.
+     *
+     * @param text The text to parse. Must not be null.
+     * @return The Date represented by the text.
+     * @throws IllegalArgumentException if the text matches neither format or does not
+     *         represent a valid date.
+     */
+    public static Date parse(CharSequence text) {
+        int length = text.length();
+        int day = -1;
+        int month = -1;
+        int year = -1;
+        if (length >= 10 && length <= 12) {
+            if (text.charAt(2) == '/' && text.charAt(5) == '/') {
+                day = digits(text, 0, 2);
+                month = digits(text, 3, 5);
+                year = digits(text, 6, length);
+            } else if (text.charAt(length - 6) == '-' && text.charAt(length - 3) == '-') {
+                year = digits(text, 0, length - 6);
+                month = digits(text, length - 5, length - 3);
+                day = digits(text, length - 2, length);
+            }
+        }
+        if (day < 0 || month < 0 || year < 0) {
+            throw new IllegalArgumentException("Cannot parse date: " + text);
+        }
+        return of(day, month, year);
+    }
+
+    /**
+     * Reads the decimal number written in text between from (inclusive) and to (exclusive).
+     *
+     * @return The number, or -1 if a character in the range is not an ASCII digit.
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
     }
 
     /**
@@ -31,7 +174,7 @@ public class Date implements Comparable<Date> {
      *
      * @param day The day of the month to validate.
      * @param month The month to validate (1 for January, 12 for December).
-     * @param year The year to validate (must be a positive number).
+     * @param year The year to validate (from 1 to {@link #MAX_YEAR}).
      * @return true if the provided combination represents a valid date, false otherwise.
      */
     public static boolean isValidDate(int day, int month, int year) {
@@ -41,26 +184,41 @@ public class Date implements Comparable<Date> {
         }
 
         // Check year range
-        if (year < 1) {
+        if (year < 1 || year > MAX_YEAR) {
             return false;
         }
 
-        // Days in month logic
-        int[] daysInMonth = {31, isLeapYear(year) ? 29 : 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+        return day >= 1 && day <= lengthOfMonth(month, year);
+    }
 
-        return day >= 1 && day <= daysInMonth[month - 1];
+    /**
+     * Tells whether the given epoch day falls in a leap year, without creating a Date.
+     */
+    static boolean isInLeapYear(int epochDay) {
+        return isLeapYear(civilFromDays(epochDay) >>> 9);
+    }
+
+    /**
+     * Returns the number of days of a month, read from a shared table plus one for
+     * February of leap years.
+     */
+    private static int lengthOfMonth(int month, int year) {
+        return DAYS_IN_MONTH[month] + (month == 2 && isLeapYear(year) ? 1 : 0);
     }
 
     /**
      * Determines if the specified year is a leap year.
      * A year is a leap year if it is divisible by 4 but not divisible by 100,
      * or if it is divisible by 400.
+     * For a multiple of 4, "not divisible by 100" is the same as "not divisible by 25",
+     * and "divisible by 400" the same as "divisible by 16", so the test needs one
+     * modulo and two masks.
      *
      * @param year The year to evaluate for being a leap year.
      * @return true if the specified year is a leap year, false otherwise.
      */
     public static boolean isLeapYear(int year) {
-        return (year % 4 == 0 && year % 100 != 0) || (year % 400 == 0);
+        return (year & 3) == 0 && (year % 25 != 0 || (year & 15) == 0);
     }
 
     /**
@@ -72,9 +230,7 @@ public class Date implements Comparable<Date> {
      *         The returned date is guaranteed to be valid.
      */
     public Date nextDate() {
-        LocalDate currentDate = LocalDate.of(year, month, day);
-        LocalDate nextDate = currentDate.plusDays(1);
-        return new Date(nextDate.getDayOfMonth(), nextDate.getMonthValue(), nextDate.getYear());
+        return plusDays(1);
     }
 
     /**
@@ -85,14 +241,123 @@ public class Date implements Comparable<Date> {
      *         The returned date is validated to ensure it is a valid calendar date.
      */
     public Date previousDate() {
-        LocalDate currentDate = LocalDate.of(year, month, day);
-        LocalDate previousDate = currentDate.minusDays(1);
-        return new Date(previousDate.getDayOfMonth(), previousDate.getMonthValue(), previousDate.getYear());
+        return minusDays(1);
+    }
+
+    /**
+     * Returns the date the given number of days after this one.
+     * The result is computed directly from the epoch day, without any calendar object.
+     *
+     * @param days The number of days to add, which may be negative.
+     * @return A Date object representing the shifted date.
+     * @throws IllegalArgumentException if the result falls outside the years 1 to {@link #MAX_YEAR}.
+     */
+    public Date plusDays(int days) {
+        return ofEpochDay((long) epochDay + days);
+    }
+
+    /**
+     * Returns the date the given number of days before this one.
+     *
+     * @param days The number of days to subtract, which may be negative.
+     * @return A Date object representing the shifted date.
+     * @throws IllegalArgumentException if the result falls outside the years 1 to {@link #MAX_YEAR}.
+     */
+    public Date minusDays(int days) {
+        return ofEpochDay((long) epochDay - days);
+    }
+
+    /**
+     * Returns the date the given number of months after this one. If the day does not
+     * exist in the target month, the last day of that month is used instead
+     * (31/01 plus one month gives 28/02 or 29/02).
+     *
+     * @param months The number of months to add, which may be negative.
+     * @return A Date object representing the shifted date.
+     * @throws IllegalArgumentException if the result falls outside the years 1 to {@link #MAX_YEAR}.
+     */
+    public Date plusMonths(int months) {
+        int fields = civilFromDays(epochDay);
+        long monthIndex = (fields >>> 9) * 12L + ((fields >>> 5) & 0xF) - 1 + months;
+        long year = Math.floorDiv(monthIndex, 12);
+        if (year < 1 || year > MAX_YEAR) {
+            throw new IllegalArgumentException("Date out of range: year " + year);
+        }
+        int month = Math.floorMod(monthIndex, 12) + 1;
+        int day = Math.min(fields & 0x1F, lengthOfMonth(month, (int) year));
+        return cached(daysFromCivil((int) year, month, day));
+    }
+
+    /**
+     * Computes the number of days from this date to another one.
+     *
+     * @param other The end date. Must not be null.
+     * @return The number of days from this date to other: positive if other is later,
+     *         negative if it is earlier, zero if both are the same day.
+     */
+    public int daysBetween(Date other) {
+        return other.epochDay - epochDay;
+    }
+
+    /**
+     * Returns the day of the week of this date, computed arithmetically from the epoch day.
+     *
+     * @return The day of the week.
+     */
+    public DayOfWeek dayOfWeek() {
+        return DayOfWeek.of(Math.floorMod(epochDay + 3, 7) + 1); // 01/01/1970 was a Thursday
+    }
+
+    /**
+     * Returns the number of days between 01/01/1970 and this date.
+     *
+     * @return The epoch day, negative for dates before 1970.
+     */
+    public int toEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Returns a non-negative int that grows with the date: 0 for 01/01/0001, then one
+     * more for each following day. It fits in 29 bits, which makes it a suitable key
+     * for radix sorting (see {@link DateSorter}).
+     *
+     * @return The sort key of this date.
+     */
+    public int toSortKey() {
+        return epochDay - MIN_EPOCH_DAY;
+    }
+
+    /**
+     * Returns the day of the month of this date.
+     *
+     * @return The day of the month, from 1 to 31.
+     */
+    public int getDay() {
+        return civilFromDays(epochDay) & 0x1F;
+    }
+
+    /**
+     * Returns the month of this date.
+     *
+     * @return The month, from 1 (January) to 12 (December).
+     */
+    public int getMonth() {
+        return (civilFromDays(epochDay) >>> 5) & 0xF;
+    }
+
+    /**
+     * Returns the year of this date.
+     *
+     * @return The year, from 1 to {@link #MAX_YEAR}.
+     */
+    public int getYear() {
+        return civilFromDays(epochDay) >>> 9;
     }
 
     /**
      * Compares this Date object with another Date object for order.
-     * The comparison is performed first by year, then by month, and finally by day.
+     * Dates are ordered chronologically, which comes down to comparing their epoch days.
      *
      * @param other The other Date object to compare to. Must not be null.
      * @return A negative integer, zero, or a positive integer as this Date
@@ -104,13 +369,7 @@ public class Date implements Comparable<Date> {
         if (other == null) {
             throw new NullPointerException("Cannot compare to null");
         }
-        if (this.year != other.year) {
-            return this.year - other.year;
-        }
-        if (this.month != other.month) {
-            return this.month - other.month;
-        }
-        return this.day - other.day;
+        return Integer.compare(this.epochDay, other.epochDay);
     }
 
     /**
@@ -121,12 +380,71 @@ public class Date implements Comparable<Date> {
      */
     @Override
     public String toString() {
-        return String.format("%02d/%02d/%04d", day, month, year);
+        byte[] buffer = new byte[12];
+        int length = formatTo(buffer, 0);
+        return new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes this date in the "DD/MM/YYYY" format of {@link #toString()} to an Appendable,
+     * one character at a time, without building any intermediate string.
+     *
+     * @param out The destination of the characters.
+     * @throws IOException if out fails to append a character.
+     */
+    public void formatTo(Appendable out) throws IOException {
+        int fields = civilFromDays(epochDay);
+        int day = fields & 0x1F;
+        int month = (fields >>> 5) & 0xF;
+        int year = fields >>> 9;
+        out.append((char) ('0' + day / 10)).append((char) ('0' + day % 10)).append('/');
+        out.append((char) ('0' + month / 10)).append((char) ('0' + month % 10)).append('/');
+        for (int divisor = yearDivisor(year); divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + year / divisor % 10));
+        }
+    }
+
+    /**
+     * Writes this date in the "DD/MM/YYYY" format of {@link #toString()} as ASCII bytes.
+     * The output takes 10 bytes, or up to 12 for years above 9999.
+     *
+     * @param buffer The array to write into.
+     * @param offset The index of the first byte to write.
+     * @return The index just after the last byte written.
+     * @throws IndexOutOfBoundsException if the date does not fit in buffer from offset.
+     */
+    public int formatTo(byte[] buffer, int offset) {
+        int fields = civilFromDays(epochDay);
+        int day = fields & 0x1F;
+        int month = (fields >>> 5) & 0xF;
+        int year = fields >>> 9;
+        int end = offset + 6 + (year > 99_999 ? 6 : year > 9_999 ? 5 : 4);
+        if (offset < 0 || end > buffer.length) {
+            throw new IndexOutOfBoundsException("Date needs " + (end - offset) + " bytes from offset " + offset);
+        }
+        buffer[offset] = (byte) ('0' + day / 10);
+        buffer[offset + 1] = (byte) ('0' + day % 10);
+        buffer[offset + 2] = '/';
+        buffer[offset + 3] = (byte) ('0' + month / 10);
+        buffer[offset + 4] = (byte) ('0' + month % 10);
+        buffer[offset + 5] = '/';
+        for (int i = end - 1; i > offset + 5; i--) {
+            buffer[i] = (byte) ('0' + year % 10);
+            year /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the power of ten of the leading digit of year, written on at least 4 digits.
+     */
+    private static int yearDivisor(int year) {
+        return year > 99_999 ? 100_000 : year > 9_999 ? 10_000 : 1_000;
     }
 
     /**
      * Compares this Date object with the specified object for equality.
-     * Determines equality by comparing the day, month, and year fields.
+     * Two dates are equal when they fall on the same day.
      *
      * @param obj The object to compare with this Date instance.
      * @return true if the specified object is a Date instance with the same day,
@@ -137,14 +455,41 @@ public class Date implements Comparable<Date> {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Date date = (Date) obj;
-        return day == date.day && month == date.month && year == date.year;
+        return epochDay == date.epochDay;
     }
 
     @Override
     public int hashCode() {
-        int result = day;
-        result = 31 * result + month;
-        result = 31 * result + year;
-        return result;
+        return Integer.hashCode(epochDay);
+    }
+
+    /**
+     * Converts a valid year, month and day into a number of days since 01/01/1970,
+     * using the days-from-civil algorithm (years counted from March, in 400-year eras).
+     */
+    private static int daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400; // y >= 0 for every supported year
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Converts a number of days since 01/01/1970 back into year, month and day,
+     * packed as {@code year << 9 | month << 5 | day}.
+     */
+    private static int civilFromDays(int epochDay) {
+        int z = epochDay + 719468; // days since 01/03/0000, >= 0 for every supported date
+        int era = z / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153; // 0 for March ... 11 for February
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
     }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package fr.istic.vv;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encodings of dates, much smaller than their "DD/MM/YYYY" text.
+ * <p>
+ * A single date takes {@link #DATE_BYTES} bytes: its epoch day as a big-endian int.
+ * A sorted batch of dates is written as its size, its first epoch day, then the gap
+ * from each date to the next, all as base-128 varints. Dates close to each other, as in
+ * event logs, then cost one byte each. Decoding a batch fills a {@link DateColumn}
+ * directly, without creating a Date per element.
+ */
+public final class DateCodec {
+
+    /**
+     * The number of bytes used by the fixed-width encoding of one date.
+     */
+    public static final int DATE_BYTES = 4;
+
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private DateCodec() {
+    }
+
+    /**
+     * Writes a date at the current position of a buffer.
+     *
+     * @param date The date to write. Must not be null.
+     * @param out The buffer to write to, with at least {@link #DATE_BYTES} bytes remaining.
+     */
+    public static void write(Date date, ByteBuffer out) {
+        out.putInt(date.toEpochDay());
+    }
+
+    /**
+     * Writes a date to a data output.
+     *
+     * @param date The date to write. Must not be null.
+     * @param out The output to write to.
+     * @throws IOException if out fails.
+     */
+    public static void write(Date date, DataOutput out) throws IOException {
+        out.writeInt(date.toEpochDay());
+    }
+
+    /**
+     * Reads a date written by {@link #write(Date, ByteBuffer)}.
+     *
+     * @param in The buffer to read from.
+     * @return The date read.
+     * @throws IllegalArgumentException if the bytes read do not encode a valid date.
+     */
+    public static Date read(ByteBuffer in) {
+        return Date.ofEpochDay(in.getInt());
+    }
+
+    /**
+     * Reads a date written by {@link #write(Date, DataOutput)}.
+     *
+     * @param in The input to read from.
+     * @return The date read.
+     * @throws IOException if in fails.
+     * @throws IllegalArgumentException if the bytes read do not encode a valid date.
+     */
+    public static Date read(DataInput in) throws IOException {
+        return Date.ofEpochDay(in.readInt());
+    }
+
+    /**
+     * Returns the largest number of bytes {@link #writeSorted(DateColumn, ByteBuffer)}
+     * can use for a batch of the given size.
+     *
+     * @param count The number of dates in the batch.
+     * @return An upper bound of the encoded size.
+     */
+    public static int maxSortedSize(int count) {
+        return (count + 2) * MAX_VARINT_BYTES;
+    }
+
+    /**
+     * Writes a batch of dates in delta encoding.
+     *
+     * @param dates The dates to write, in chronological order. Must not be null.
+     * @param out The buffer to write to.
+     * @throws IllegalArgumentException if the dates are not sorted.
+     */
+    public static void writeSorted(DateColumn dates, ByteBuffer out) {
+        int size = dates.size();
+        writeVarint(size, out);
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int day = dates.getEpochDay(i);
+            if (i == 0) {
+                writeVarint((day << 1) ^ (day >> 31), out); // zigzag, epoch days before 1970 are negative
+            } else if (day < previous) {
+                throw new IllegalArgumentException("Dates not sorted at index " + i);
+            } else {
+                writeVarint(day - previous, out);
+            }
+            previous = day;
+        }
+    }
+
+    /**
+     * Writes a batch of dates in delta encoding.
+     *
+     * @param dates The dates to write, in chronological order. None may be null.
+     * @param out The buffer to write to.
+     * @throws IllegalArgumentException if the dates are not sorted.
+     */
+    public static void writeSorted(Date[] dates, ByteBuffer out) {
+        DateColumn column = new DateColumn(dates.length);
+        column.addAll(dates);
+        writeSorted(column, out);
+    }
+
+    /**
+     * Reads a batch written by {@link #writeSorted(DateColumn, ByteBuffer)}.
+     *
+     * @param in The buffer to read from.
+     * @return A new column holding the dates read, in chronological order.
+     * @throws IllegalArgumentException if the bytes read do not encode a valid batch.
+     */
+    public static DateColumn readSorted(ByteBuffer in) {
+        DateColumn column = new DateColumn(0);
+        readSorted(in, column);
+        return column;
+    }
+
+    /**
+     * Reads a batch written by {@link #writeSorted(DateColumn, ByteBuffer)} and appends
+     * its dates to a column.
+     *
+     * @param in The buffer to read from.
+     * @param into The column to append to. Must not be null.
+     * @return The number of dates appended.
+     * @throws IllegalArgumentException if the bytes read do not encode a valid batch or
+     *         the batch is truncated; the column and the position of in are then left
+     *         unchanged.
+     */
+    public static int readSorted(ByteBuffer in, DateColumn into) {
+        int start = in.position();
+        try {
+            return readBatch(in, into);
+        } catch (IllegalArgumentException e) {
+            in.position(start);
+            throw e;
+        }
+    }
+
+    private static int readBatch(ByteBuffer in, DateColumn into) {
+        int size = readVarint(in);
+        if (size < 0 || size > in.remaining()) { // every date takes at least one byte
+            throw new IllegalArgumentException("Invalid batch size: " + Integer.toUnsignedString(size));
+        }
+        int[] days = new int[size];
+        long day = 0;
+        for (int i = 0; i < size; i++) {
+            int value = readVarint(in);
+            day = i == 0 ? (value >>> 1) ^ -(value & 1) : day + Integer.toUnsignedLong(value);
+            if (!Date.isValidEpochDay(day)) {
+                throw new IllegalArgumentException("Date out of range at index " + i + ": epoch day " + day);
+            }
+            days[i] = (int) day;
+        }
+        into.addEpochDays(days, 0, size);
+        return size;
+    }
+
+    private static void writeVarint(int value, ByteBuffer out) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+            if (!in.hasRemaining()) {
+                throw new IllegalArgumentException("Truncated batch");
+            }
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
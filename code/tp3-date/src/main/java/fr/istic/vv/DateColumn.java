@@ -0,0 +1,227 @@
+package fr.istic.vv;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A growable column of dates stored as a packed int array of epoch days, 4 bytes per
+ * date instead of one object and one reference each. Bulk predicates are plain counted
+ * loops over the int array, which the JIT can unroll and vectorize.
+ */
+public class DateColumn {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] days; // epoch day of each date
+    private int size;   // number of slots of days actually used
+
+    /**
+     * Constructs an empty column.
+     */
+    public DateColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty column with room for the given number of dates.
+     *
+     * @param initialCapacity The number of dates the column can hold before growing.
+     * @throws IllegalArgumentException if initialCapacity is negative.
+     */
+    public DateColumn(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        }
+        this.days = new int[initialCapacity];
+    }
+
+    /**
+     * Appends a date to the column.
+     *
+     * @param date The date to append. Must not be null.
+     * @throws NullPointerException if date is null; the column is then left unchanged.
+     */
+    public void add(Date date) {
+        int day = date.toEpochDay(); // before growing, so that a null date changes nothing
+        ensureCapacity(size + 1);
+        days[size++] = day;
+    }
+
+    /**
+     * Appends several dates to the column, growing it at most once.
+     *
+     * @param dates The dates to append. None may be null.
+     * @throws NullPointerException if one of the dates is null; the column is then left
+     *         unchanged.
+     */
+    public void addAll(Date... dates) {
+        for (Date date : dates) {
+            Objects.requireNonNull(date, "date");
+        }
+        ensureCapacity(size + dates.length);
+        for (Date date : dates) {
+            days[size++] = date.toEpochDay();
+        }
+    }
+
+    /**
+     * Appends dates given as epoch days, as returned by {@link Date#toEpochDay()}.
+     *
+     * @param epochDays The array holding the epoch days.
+     * @param offset The index of the first epoch day to copy.
+     * @param length The number of epoch days to copy.
+     * @throws IllegalArgumentException if one of the values is not a valid epoch day;
+     *         the column is then left unchanged.
+     */
+    public void addEpochDays(int[] epochDays, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (!Date.isValidEpochDay(epochDays[i])) {
+                throw new IllegalArgumentException("Date out of range: epoch day " + epochDays[i]);
+            }
+        }
+        ensureCapacity(size + length);
+        System.arraycopy(epochDays, offset, days, size, length);
+        size += length;
+    }
+
+    /**
+     * Returns the date at the given position.
+     *
+     * @param index The position, from 0 to size() - 1.
+     * @return The date at that position.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public Date get(int index) {
+        return Date.ofEpochDay(getEpochDay(index));
+    }
+
+    /**
+     * Returns the date at the given position as an epoch day, without creating a Date.
+     *
+     * @param index The position, from 0 to size() - 1.
+     * @return The epoch day at that position.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public int getEpochDay(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return days[index];
+    }
+
+    /**
+     * Returns the number of dates in the column.
+     *
+     * @return The size of the column.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the dates of the column in chronological order.
+     */
+    public void sort() {
+        Arrays.sort(days, 0, size);
+    }
+
+    /**
+     * Finds, in a sorted column, the index of the first date that is not before from.
+     *
+     * @param from The lower bound. Must not be null.
+     * @return The first index whose date is on or after from, or size() if there is none.
+     */
+    public int fromIndex(Date from) {
+        return lowerBound(from.toEpochDay());
+    }
+
+    /**
+     * Finds, in a sorted column, the index just after the last date that is not after to.
+     * Together with {@link #fromIndex(Date)} this gives the slice of dates between two
+     * bounds in O(log n).
+     *
+     * @param to The upper bound. Must not be null.
+     * @return The first index whose date is after to, or size() if there is none.
+     */
+    public int toIndex(Date to) {
+        return lowerBound(to.toEpochDay() + 1);
+    }
+
+    /**
+     * Computes which dates are strictly before the given date.
+     *
+     * @param limit The date to compare with. Must not be null.
+     * @return An array holding, for each position of the column, whether its date is before limit.
+     */
+    public boolean[] before(Date limit) {
+        int bound = limit.toEpochDay();
+        boolean[] mask = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            mask[i] = days[i] < bound;
+        }
+        return mask;
+    }
+
+    /**
+     * Computes which dates lie between two dates, both inclusive.
+     *
+     * @param from The lower bound. Must not be null.
+     * @param to The upper bound. Must not be null.
+     * @return An array holding, for each position of the column, whether its date is in [from, to].
+     */
+    public boolean[] between(Date from, Date to) {
+        int low = from.toEpochDay();
+        int high = to.toEpochDay();
+        boolean[] mask = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            int day = days[i];
+            mask[i] = day >= low & day <= high; // non-short-circuit, keeps the loop branch-free
+        }
+        return mask;
+    }
+
+    /**
+     * Computes which dates fall in a leap year.
+     *
+     * @return An array holding, for each position of the column, whether its year is a leap year.
+     */
+    public boolean[] isLeapYear() {
+        boolean[] mask = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            mask[i] = Date.isInLeapYear(days[i]);
+        }
+        return mask;
+    }
+
+    private int lowerBound(int epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > days.length) {
+            days = Arrays.copyOf(days, Math.max(capacity, days.length * 2));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("DateColumn[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(get(i));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,378 @@
+package fr.istic.vv;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable sequence of dates from a start date to an end date, both inclusive,
+ * stepping by a fixed number of days or months. Dates are computed on demand from
+ * their index, so size, contains and get run in constant time, intersection in
+ * logarithmic time, and the spliterator splits by index, which lets parallel streams
+ * share the work evenly.
+ */
+public class DateRange implements Iterable<Date> {
+
+    /**
+     * The unit in which the step of a range is expressed.
+     */
+    public enum Unit {
+        DAYS,
+        /**
+         * Every date is computed from the origin with {@link Date#plusMonths(int)}, so
+         * a range starting on the 31st falls on the last day of shorter months without
+         * drifting afterwards.
+         */
+        MONTHS
+    }
+
+    private final Date origin; // date of index 0, from which every other date is computed
+    private final int step;
+    private final Unit unit;
+    private final int first;   // index of the first date of the range
+    private final int last;    // index of the last date of the range (first - 1 if empty)
+
+    /**
+     * Constructs the range of every day from start to end, both inclusive.
+     *
+     * @param start The first date of the range. Must not be null.
+     * @param end The last date of the range. Must not be null. If it is before start,
+     *            the range is empty.
+     */
+    public DateRange(Date start, Date end) {
+        this(start, end, 1, Unit.DAYS);
+    }
+
+    /**
+     * Constructs the range of dates start, start + step, start + 2 * step, ... up to end.
+     *
+     * @param start The first date of the range. Must not be null.
+     * @param end The inclusive upper bound of the range. Must not be null. If it is
+     *            before start, the range is empty.
+     * @param step The distance between two consecutive dates, at least 1.
+     * @param unit The unit of step. Must not be null.
+     * @throws IllegalArgumentException if step is smaller than 1.
+     */
+    public DateRange(Date start, Date end, int step, Unit unit) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        Objects.requireNonNull(unit, "unit");
+        if (step < 1) {
+            throw new IllegalArgumentException("Step must be at least 1: " + step);
+        }
+        this.origin = start;
+        this.step = step;
+        this.unit = unit;
+        this.first = 0;
+        if (end.compareTo(start) < 0) {
+            this.last = -1;
+        } else if (unit == Unit.DAYS) {
+            this.last = start.daysBetween(end) / step;
+        } else {
+            int index = monthsBetween(start, end) / step;
+            this.last = start.plusMonths(index * step).compareTo(end) > 0 ? index - 1 : index;
+        }
+    }
+
+    private DateRange(Date origin, int step, Unit unit, int first, int last) {
+        this.origin = origin;
+        this.step = step;
+        this.unit = unit;
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Returns the number of dates in this range.
+     *
+     * @return The size of the range, 0 if it is empty.
+     */
+    public int size() {
+        return last - first + 1;
+    }
+
+    /**
+     * Tells whether this range contains no date.
+     *
+     * @return true if the range is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return last < first;
+    }
+
+    /**
+     * Returns the date at the given position of this range.
+     *
+     * @param index The position, from 0 to size() - 1.
+     * @return The date at that position.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public Date get(int index) {
+        Objects.checkIndex(index, size());
+        return dateAt(first + index);
+    }
+
+    /**
+     * Returns the first date of this range.
+     *
+     * @return The first date.
+     * @throws NoSuchElementException if the range is empty.
+     */
+    public Date first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Empty range");
+        }
+        return dateAt(first);
+    }
+
+    /**
+     * Returns the last date of this range.
+     *
+     * @return The last date.
+     * @throws NoSuchElementException if the range is empty.
+     */
+    public Date last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Empty range");
+        }
+        return dateAt(last);
+    }
+
+    /**
+     * Tells whether the given date is one of the dates of this range.
+     *
+     * @param date The date to look for. Must not be null.
+     * @return true if the range contains date, false otherwise.
+     */
+    public boolean contains(Date date) {
+        int index = firstIndexFrom(date);
+        return index <= last && dateAt(index).equals(date);
+    }
+
+    /**
+     * Returns the dates present in both this range and other, in the same order, whatever
+     * the order of the two ranges. When one of them steps one day at a time, the result
+     * keeps the step of the other one; when both step by days, it steps by the least
+     * common multiple of their steps.
+     *
+     * @param other The range to intersect with. Must not be null.
+     * @return The range of the common dates, possibly empty.
+     * @throws IllegalArgumentException if neither range steps one day at a time and one of
+     *         them steps by months, as the common dates do not form a range in general.
+     */
+    public DateRange intersection(DateRange other) {
+        if (isEmpty() || other.isEmpty()) {
+            return new DateRange(origin, step, unit, first, first - 1);
+        }
+        if (other.isEveryDay()) {
+            return clampTo(other.first(), other.last());
+        }
+        if (isEveryDay()) {
+            return other.clampTo(first(), last());
+        }
+        if (unit != Unit.DAYS || other.unit != Unit.DAYS) {
+            throw new IllegalArgumentException("The dates common to " + this + " and " + other + " do not form a range");
+        }
+        // Common dates are the solutions of x = a (mod step), x = b (mod other.step)
+        long a = origin.toEpochDay();
+        long b = other.origin.toEpochDay();
+        long gcd = gcd(step, other.step);
+        if ((b - a) % gcd != 0) {
+            return new DateRange(origin, step, unit, first, first - 1);
+        }
+        long modulus = other.step / gcd;
+        long k = Math.floorMod((b - a) / gcd % modulus * inverse(step / gcd % modulus, modulus), modulus);
+        long solution = a + k * step;
+        long lcm = step / gcd * other.step;
+        long low = Math.max(first().toEpochDay(), other.first().toEpochDay());
+        long high = Math.min(last().toEpochDay(), other.last().toEpochDay());
+        long start = low + Math.floorMod(solution - low, lcm);
+        if (start > high) {
+            return new DateRange(origin, step, unit, first, first - 1);
+        }
+        Date startDate = Date.ofEpochDay(start);
+        if (lcm > Integer.MAX_VALUE) { // longer than any range, so a single common date
+            return new DateRange(startDate, startDate);
+        }
+        return new DateRange(startDate, Date.ofEpochDay(high), (int) lcm, Unit.DAYS);
+    }
+
+    /**
+     * Returns a sequential stream over the dates of this range, in order.
+     * Call {@code parallel()} on it to spread the dates over several threads.
+     *
+     * @return A stream of the dates.
+     */
+    public Stream<Date> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public Iterator<Date> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator<Date> spliterator() {
+        return new IndexSpliterator(first, last + 1);
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "DateRange[]";
+        }
+        return "DateRange[" + first() + ".." + last() + " every " + step + " " + unit + "]";
+    }
+
+    /**
+     * Returns the dates of this range between from and to, both inclusive, keeping the step.
+     */
+    private DateRange clampTo(Date from, Date to) {
+        int low = firstIndexFrom(from);
+        int high = lastIndexUpTo(to);
+        return new DateRange(origin, step, unit, low, Math.max(high, low - 1));
+    }
+
+    private boolean isEveryDay() {
+        return unit == Unit.DAYS && step == 1;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * Returns the inverse of value modulo modulus, with value and modulus coprime.
+     */
+    private static long inverse(long value, long modulus) {
+        long r0 = modulus;
+        long r1 = value;
+        long t0 = 0;
+        long t1 = 1;
+        while (r1 != 0) { // extended Euclid, keeping only the coefficient of value
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            long t = t0 - q * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        return Math.floorMod(t0, modulus);
+    }
+
+    private Date dateAt(int index) {
+        long offset = (long) index * step;
+        return unit == Unit.DAYS ? origin.plusDays((int) offset) : origin.plusMonths((int) offset);
+    }
+
+    /**
+     * Returns the index of the first date of the range that is not before date,
+     * or last + 1 if there is none.
+     */
+    private int firstIndexFrom(Date date) {
+        if (unit == Unit.DAYS) {
+            long index = -Math.floorDiv(-(long) origin.daysBetween(date), step); // ceiling
+            return (int) Math.max(first, Math.min(index, last + 1L));
+        }
+        int index = Math.floorDiv(monthsBetween(origin, date), step); // same month as date or earlier
+        if (index < first) {
+            return first;
+        }
+        if (index > last) {
+            return last + 1;
+        }
+        return dateAt(index).compareTo(date) < 0 ? index + 1 : index;
+    }
+
+    /**
+     * Returns the index of the last date of the range that is not after date,
+     * or first - 1 if there is none.
+     */
+    private int lastIndexUpTo(Date date) {
+        if (unit == Unit.DAYS) {
+            long index = Math.floorDiv(origin.daysBetween(date), step);
+            return (int) Math.min(last, Math.max(index, first - 1L));
+        }
+        int index = Math.floorDiv(monthsBetween(origin, date), step);
+        if (index < first) {
+            return first - 1;
+        }
+        if (index > last) {
+            return last;
+        }
+        return dateAt(index).compareTo(date) > 0 ? index - 1 : index;
+    }
+
+    private static int monthsBetween(Date from, Date to) {
+        return (to.getYear() - from.getYear()) * 12 + to.getMonth() - from.getMonth();
+    }
+
+    /**
+     * Spliterator over the indexes [from, to) of the range, splitting in the middle.
+     */
+    private final class IndexSpliterator implements Spliterator<Date> {
+        private int from;
+        private final int to;
+
+        IndexSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Date> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(dateAt(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Date> action) {
+            for (int i = from; i < to; i++) {
+                action.accept(dateAt(i));
+            }
+            from = to;
+        }
+
+        @Override
+        public Spliterator<Date> trySplit() {
+            int mid = (from + to) >>> 1;
+            if (mid <= from) {
+                return null;
+            }
+            Spliterator<Date> prefix = new IndexSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super Date> getComparator() {
+            return null; // dates come in their natural order
+        }
+    }
+}
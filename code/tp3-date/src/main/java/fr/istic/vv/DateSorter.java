@@ -0,0 +1,82 @@
+package fr.istic.vv;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Sorts dates in O(n) with a least-significant-digit radix sort on {@link Date#toSortKey()}.
+ * The sort is stable: equal dates keep their relative order.
+ */
+public class DateSorter {
+
+    private static final int BITS = 11;              // bits of the key handled by each pass
+    private static final int BUCKETS = 1 << BITS;
+    private static final int KEY_BITS = 29;          // sort keys stay below 2^29
+
+    private DateSorter() {}
+
+    /**
+     * Sorts an array of dates in chronological order.
+     *
+     * @param dates The array to sort. None of its elements may be null.
+     */
+    public static void radixSort(Date[] dates) {
+        int n = dates.length;
+        if (n < 2) {
+            return;
+        }
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = dates[i].toSortKey();
+        }
+        Date[] src = dates;
+        Date[] dst = new Date[n];
+        int[] srcKeys = keys;
+        int[] dstKeys = new int[n];
+        int[] counts = new int[BUCKETS + 1];
+        for (int shift = 0; shift < KEY_BITS; shift += BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[((srcKeys[i] >>> shift) & (BUCKETS - 1)) + 1]++;
+            }
+            if (counts[((srcKeys[0] >>> shift) & (BUCKETS - 1)) + 1] == n) {
+                continue; // every key has the same digit, this pass would not move anything
+            }
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[b + 1] += counts[b]; // counts[b] becomes the first slot of bucket b
+            }
+            for (int i = 0; i < n; i++) {
+                int key = srcKeys[i];
+                int slot = counts[(key >>> shift) & (BUCKETS - 1)]++;
+                dst[slot] = src[i];
+                dstKeys[slot] = key;
+            }
+            Date[] swapDates = src;
+            src = dst;
+            dst = swapDates;
+            int[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+        }
+        if (src != dates) {
+            System.arraycopy(src, 0, dates, 0, n);
+        }
+    }
+
+    /**
+     * Sorts a list of dates in chronological order.
+     *
+     * @param dates The list to sort. It must support {@link ListIterator#set(Object)}
+     *              and none of its elements may be null.
+     */
+    public static void radixSort(List<Date> dates) {
+        Date[] array = dates.toArray(new Date[0]);
+        radixSort(array);
+        ListIterator<Date> it = dates.listIterator();
+        for (Date date : array) {
+            it.next();
+            it.set(date);
+        }
+    }
+}
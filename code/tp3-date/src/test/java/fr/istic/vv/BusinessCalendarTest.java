@@ -0,0 +1,144 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessCalendarTest {
+
+    private static final Set<DayOfWeek> WEEKEND = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    @TempDir
+    Path dir;
+
+    private static BusinessCalendar calendar2023() {
+        // 1 May (Monday) and 8 May (Monday) are holidays
+        return new BusinessCalendar(2023, 2024, WEEKEND, Arrays.asList(new Date(1, 5, 2023), new Date(8, 5, 2023)));
+    }
+
+    @Test
+    void testConstructorInvalidSpan() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BusinessCalendar(2024, 2023, WEEKEND, Collections.emptySet()));
+    }
+
+    @Test
+    void testIsBusinessDay() {
+        BusinessCalendar calendar = calendar2023();
+        assertTrue(calendar.isBusinessDay(new Date(2, 5, 2023))); // Tuesday
+        assertFalse(calendar.isBusinessDay(new Date(6, 5, 2023))); // Saturday
+        assertFalse(calendar.isBusinessDay(new Date(1, 5, 2023))); // Holiday
+        assertThrows(IllegalArgumentException.class, () -> calendar.isBusinessDay(new Date(1, 1, 2025)));
+    }
+
+    @Test
+    void testCountBusinessDays() {
+        BusinessCalendar calendar = calendar2023();
+        assertEquals(8, calendar.countBusinessDays(new Date(1, 5, 2023), new Date(15, 5, 2023))); // Two holidays off
+        assertEquals(-8, calendar.countBusinessDays(new Date(15, 5, 2023), new Date(1, 5, 2023)));
+        assertEquals(0, calendar.countBusinessDays(new Date(6, 5, 2023), new Date(6, 5, 2023)));
+    }
+
+    @Test
+    void testCountBusinessDaysWholeCalendar() {
+        BusinessCalendar calendar = calendar2023();
+        // 260 weekdays in 2023 minus 2 holidays, 262 weekdays in 2024
+        assertEquals(520, calendar.countBusinessDays(new Date(1, 1, 2023), new Date(1, 1, 2025)));
+        assertEquals(-520, calendar.countBusinessDays(new Date(1, 1, 2025), new Date(1, 1, 2023)));
+        assertEquals(1, calendar.countBusinessDays(new Date(31, 12, 2024), new Date(1, 1, 2025))); // Tuesday
+        assertThrows(IllegalArgumentException.class,
+                () -> calendar.countBusinessDays(new Date(1, 1, 2023), new Date(2, 1, 2025)));
+    }
+
+    @Test
+    void testAddBusinessDaysForward() {
+        BusinessCalendar calendar = calendar2023();
+        assertEquals(new Date(9, 5, 2023), calendar.addBusinessDays(new Date(5, 5, 2023), 1)); // Skips weekend and 8 May
+        assertEquals(new Date(2, 5, 2023), calendar.addBusinessDays(new Date(29, 4, 2023), 1)); // From a Saturday
+    }
+
+    @Test
+    void testAddBusinessDaysBackward() {
+        BusinessCalendar calendar = calendar2023();
+        assertEquals(new Date(28, 4, 2023), calendar.addBusinessDays(new Date(2, 5, 2023), -1));
+        assertEquals(new Date(5, 5, 2023), calendar.addBusinessDays(new Date(7, 5, 2023), -1)); // From a Sunday
+    }
+
+    @Test
+    void testAddBusinessDaysZero() {
+        BusinessCalendar calendar = calendar2023();
+        assertEquals(new Date(6, 5, 2023), calendar.addBusinessDays(new Date(6, 5, 2023), 0));
+    }
+
+    @Test
+    void testAddBusinessDaysLeavesCalendar() {
+        BusinessCalendar calendar = calendar2023();
+        assertThrows(IllegalArgumentException.class, () -> calendar.addBusinessDays(new Date(2, 1, 2023), -5));
+        assertThrows(IllegalArgumentException.class, () -> calendar.addBusinessDays(new Date(2, 1, 2023), 1000));
+    }
+
+    @Test
+    void testMatchesNaiveLoop() {
+        Set<Date> holidays = new HashSet<>();
+        Random random = new Random(9);
+        for (int i = 0; i < 100; i++) {
+            holidays.add(new Date(1, 1, 2000).plusDays(random.nextInt(3650)));
+        }
+        BusinessCalendar calendar = new BusinessCalendar(2000, 2009, WEEKEND, holidays);
+
+        for (int i = 0; i < 200; i++) {
+            Date start = new Date(1, 1, 2001).plusDays(random.nextInt(2500));
+            int count = random.nextInt(200) - 100;
+
+            Date expected = start;
+            for (int remaining = Math.abs(count); remaining > 0; ) {
+                expected = count > 0 ? expected.nextDate() : expected.previousDate();
+                if (!WEEKEND.contains(expected.dayOfWeek()) && !holidays.contains(expected)) {
+                    remaining--;
+                }
+            }
+            assertEquals(expected, calendar.addBusinessDays(start, count), start + " + " + count);
+
+            int naiveCount = 0;
+            for (Date d = start; d.compareTo(expected) < 0; d = d.nextDate()) {
+                if (calendar.isBusinessDay(d)) {
+                    naiveCount++;
+                }
+            }
+            if (count > 0) {
+                assertEquals(naiveCount, calendar.countBusinessDays(start, expected));
+            }
+        }
+    }
+
+    @Test
+    void testLoadHolidays() throws IOException {
+        Path file = dir.resolve("holidays.txt");
+        Files.write(file, Arrays.asList("# French public holidays", "", "01/05/2023", "2023-05-08 "));
+
+        Set<Date> holidays = BusinessCalendar.loadHolidays(file);
+
+        assertEquals(new HashSet<>(Arrays.asList(new Date(1, 5, 2023), new Date(8, 5, 2023))), holidays);
+    }
+
+    @Test
+    void testLoadHolidaysInvalidLine() throws IOException {
+        Path file = dir.resolve("holidays.txt");
+        Files.write(file, Arrays.asList("01/05/2023", "not a date"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BusinessCalendar.loadHolidays(file));
+        assertTrue(e.getMessage().contains(":2:")); // Points at the faulty line
+    }
+}
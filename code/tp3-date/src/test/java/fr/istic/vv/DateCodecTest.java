@@ -0,0 +1,141 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateCodecTest {
+
+    @Test
+    void testWriteReadByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(2 * DateCodec.DATE_BYTES);
+        DateCodec.write(new Date(14, 7, 1789), buffer);
+        DateCodec.write(new Date(31, 12, Date.MAX_YEAR), buffer);
+        assertFalse(buffer.hasRemaining()); // Fixed width
+
+        buffer.flip();
+        assertEquals(new Date(14, 7, 1789), DateCodec.read(buffer));
+        assertEquals(new Date(31, 12, Date.MAX_YEAR), DateCodec.read(buffer));
+    }
+
+    @Test
+    void testWriteReadDataStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DateCodec.write(new Date(1, 1, 1), new DataOutputStream(bytes));
+        assertEquals(DateCodec.DATE_BYTES, bytes.size());
+
+        Date read = DateCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(new Date(1, 1, 1), read);
+    }
+
+    @Test
+    void testReadInvalidDate() {
+        ByteBuffer buffer = ByteBuffer.allocate(DateCodec.DATE_BYTES).putInt(0, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> DateCodec.read(buffer));
+    }
+
+    @Test
+    void testWriteReadSorted() {
+        DateColumn column = new DateColumn();
+        column.addAll(new Date(31, 12, 1969), new Date(31, 12, 1969), new Date(1, 1, 1970), new Date(1, 3, 2024));
+        ByteBuffer buffer = ByteBuffer.allocate(DateCodec.maxSortedSize(column.size()));
+
+        DateCodec.writeSorted(column, buffer);
+        buffer.flip();
+        DateColumn read = DateCodec.readSorted(buffer);
+
+        assertEquals(column.toString(), read.toString());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testWriteSortedIsCompact() {
+        Date[] dates = new Date[1000];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = new Date(1, 1, 2020).plusDays(i / 3);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(DateCodec.maxSortedSize(dates.length));
+
+        DateCodec.writeSorted(dates, buffer);
+
+        assertTrue(buffer.position() < dates.length + 10); // About one byte per date
+    }
+
+    @Test
+    void testWriteSortedEmpty() {
+        ByteBuffer buffer = ByteBuffer.allocate(DateCodec.maxSortedSize(0));
+        DateCodec.writeSorted(new DateColumn(), buffer);
+        buffer.flip();
+        assertEquals(0, DateCodec.readSorted(buffer).size());
+    }
+
+    @Test
+    void testWriteSortedRejectsUnsorted() {
+        Date[] dates = {new Date(2, 1, 2020), new Date(1, 1, 2020)};
+        assertThrows(IllegalArgumentException.class,
+                () -> DateCodec.writeSorted(dates, ByteBuffer.allocate(DateCodec.maxSortedSize(2))));
+    }
+
+    @Test
+    void testReadSortedAppendsToColumn() {
+        DateColumn column = new DateColumn();
+        column.add(new Date(1, 1, 2000));
+        ByteBuffer buffer = ByteBuffer.allocate(DateCodec.maxSortedSize(1));
+        DateCodec.writeSorted(new Date[]{new Date(5, 5, 2005)}, buffer);
+        buffer.flip();
+
+        assertEquals(1, DateCodec.readSorted(buffer, column));
+        assertEquals(2, column.size());
+        assertEquals(new Date(5, 5, 2005), column.get(1));
+    }
+
+    @Test
+    void testReadSortedCorruptData() {
+        // Size 2, first date epoch day 0, then a gap that goes past the last supported year
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{2, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+        DateColumn column = new DateColumn();
+
+        assertThrows(IllegalArgumentException.class, () -> DateCodec.readSorted(buffer, column));
+        assertEquals(0, column.size()); // Left unchanged
+    }
+
+    @Test
+    void testReadSortedTruncated() {
+        ByteBuffer buffer = ByteBuffer.allocate(DateCodec.maxSortedSize(3));
+        DateCodec.writeSorted(new Date[]{new Date(1, 1, 2000), new Date(2, 1, 2000), new Date(1, 1, 2001)}, buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 1); // Last gap cut in the middle
+        DateColumn column = new DateColumn();
+
+        assertThrows(IllegalArgumentException.class, () -> DateCodec.readSorted(buffer, column));
+        assertEquals(0, column.size());
+        assertEquals(0, buffer.position()); // Nothing consumed
+    }
+
+    @Test
+    void testWriteReadSortedRandom() {
+        Random random = new Random(3);
+        DateColumn column = new DateColumn();
+        for (int i = 0; i < 5000; i++) {
+            column.add(Date.ofEpochDay(random.nextInt(1_400_000) - 700_000));
+        }
+        column.sort();
+        ByteBuffer buffer = ByteBuffer.allocate(DateCodec.maxSortedSize(column.size()));
+
+        DateCodec.writeSorted(column, buffer);
+        buffer.flip();
+        DateColumn read = DateCodec.readSorted(buffer);
+
+        for (int i = 0; i < column.size(); i++) {
+            assertEquals(column.getEpochDay(i), read.getEpochDay(i));
+        }
+    }
+}
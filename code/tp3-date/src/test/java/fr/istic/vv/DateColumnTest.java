@@ -0,0 +1,100 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateColumnTest {
+
+    private static DateColumn sampleColumn() {
+        DateColumn column = new DateColumn();
+        column.addAll(new Date(15, 5, 2023), new Date(1, 1, 2020), new Date(31, 12, 2023), new Date(29, 2, 2024));
+        return column;
+    }
+
+    @Test
+    void testConstructorNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new DateColumn(-1));
+    }
+
+    @Test
+    void testAddAndGet() {
+        DateColumn column = new DateColumn(1);
+        column.add(new Date(15, 5, 2023));
+        column.add(new Date(1, 1, 1)); // Grows past the initial capacity
+
+        assertEquals(2, column.size());
+        assertEquals(new Date(15, 5, 2023), column.get(0));
+        assertEquals(new Date(1, 1, 1).toEpochDay(), column.getEpochDay(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(2));
+    }
+
+    @Test
+    void testAddNullLeavesColumnUnchanged() {
+        DateColumn column = new DateColumn(1);
+        column.add(new Date(5, 5, 2020));
+
+        assertThrows(NullPointerException.class, () -> column.add(null));
+        assertThrows(NullPointerException.class, () -> column.addAll(new Date(6, 5, 2020), null));
+
+        assertEquals(1, column.size()); // No partial append, no phantom row
+        assertEquals(new Date(5, 5, 2020), column.get(0));
+    }
+
+    @Test
+    void testAddEpochDays() {
+        DateColumn column = new DateColumn();
+        column.addEpochDays(new int[]{-1, 0, 1, 2}, 1, 2);
+
+        assertEquals(2, column.size());
+        assertEquals(new Date(1, 1, 1970), column.get(0));
+        assertEquals(new Date(2, 1, 1970), column.get(1));
+    }
+
+    @Test
+    void testAddEpochDaysOutOfRange() {
+        DateColumn column = new DateColumn();
+        assertThrows(IllegalArgumentException.class, () -> column.addEpochDays(new int[]{0, Integer.MIN_VALUE}, 0, 2));
+        assertEquals(0, column.size()); // Nothing added
+    }
+
+    @Test
+    void testSortAndRangeLookup() {
+        DateColumn column = sampleColumn();
+        column.sort();
+
+        assertEquals(new Date(1, 1, 2020), column.get(0));
+        assertEquals(new Date(29, 2, 2024), column.get(3));
+
+        int from = column.fromIndex(new Date(1, 1, 2023));
+        int to = column.toIndex(new Date(31, 12, 2023));
+        assertEquals(1, from);
+        assertEquals(3, to); // Both 2023 dates, the end bound included
+        assertEquals(4, column.fromIndex(new Date(1, 1, 2025))); // After every date
+    }
+
+    @Test
+    void testBefore() {
+        boolean[] mask = sampleColumn().before(new Date(31, 12, 2023));
+        assertArrayEquals(new boolean[]{true, true, false, false}, mask);
+    }
+
+    @Test
+    void testBetween() {
+        boolean[] mask = sampleColumn().between(new Date(15, 5, 2023), new Date(31, 12, 2023));
+        assertArrayEquals(new boolean[]{true, false, true, false}, mask);
+    }
+
+    @Test
+    void testIsLeapYear() {
+        boolean[] mask = sampleColumn().isLeapYear();
+        assertArrayEquals(new boolean[]{false, true, false, true}, mask);
+    }
+
+    @Test
+    void testToString() {
+        DateColumn column = new DateColumn();
+        column.addAll(new Date(1, 2, 2023), new Date(3, 4, 2023));
+        assertEquals("DateColumn[01/02/2023, 03/04/2023]", column.toString());
+    }
+}
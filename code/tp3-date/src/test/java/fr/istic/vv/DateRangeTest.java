@@ -0,0 +1,184 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateRangeTest {
+
+    // -------- Constructor Tests --------
+
+    @Test
+    void testConstructorInvalidStep() {
+        Date date = new Date(1, 1, 2023);
+        assertThrows(IllegalArgumentException.class, () -> new DateRange(date, date, 0, DateRange.Unit.DAYS));
+    }
+
+    @Test
+    void testConstructorEndBeforeStart() {
+        DateRange range = new DateRange(new Date(2, 1, 2023), new Date(1, 1, 2023));
+        assertTrue(range.isEmpty());
+        assertEquals(0, range.size());
+        assertThrows(NoSuchElementException.class, range::first);
+        assertEquals("DateRange[]", range.toString());
+    }
+
+    // -------- Tests for size and get --------
+
+    @Test
+    void testSizeWholeYear() {
+        DateRange range = new DateRange(new Date(1, 1, 2024), new Date(31, 12, 2024));
+        assertEquals(366, range.size()); // Leap year
+        assertEquals(new Date(29, 2, 2024), range.get(59));
+        assertThrows(IndexOutOfBoundsException.class, () -> range.get(366));
+    }
+
+    @Test
+    void testSizeWithDayStep() {
+        DateRange range = new DateRange(new Date(1, 1, 2023), new Date(31, 1, 2023), 7, DateRange.Unit.DAYS);
+        assertEquals(5, range.size()); // 1, 8, 15, 22, 29
+        assertEquals(new Date(29, 1, 2023), range.last());
+    }
+
+    @Test
+    void testMonthStepKeepsEndOfMonth() {
+        DateRange range = new DateRange(new Date(31, 1, 2023), new Date(15, 5, 2023), 1, DateRange.Unit.MONTHS);
+        List<Date> dates = new ArrayList<>();
+        range.forEach(dates::add);
+
+        assertEquals(Arrays.asList(new Date(31, 1, 2023), new Date(28, 2, 2023),
+                new Date(31, 3, 2023), new Date(30, 4, 2023)), dates); // 31/05 is after the end
+        assertEquals(4, range.size());
+    }
+
+    // -------- Tests for contains --------
+
+    @Test
+    void testContainsDaySteps() {
+        DateRange range = new DateRange(new Date(1, 1, 2023), new Date(31, 1, 2023), 7, DateRange.Unit.DAYS);
+        assertTrue(range.contains(new Date(15, 1, 2023)));
+        assertFalse(range.contains(new Date(16, 1, 2023))); // Between two steps
+        assertFalse(range.contains(new Date(25, 12, 2022))); // Before the start
+        assertFalse(range.contains(new Date(5, 2, 2023))); // After the end
+    }
+
+    @Test
+    void testContainsMonthSteps() {
+        DateRange range = new DateRange(new Date(31, 1, 2023), new Date(31, 12, 2023), 2, DateRange.Unit.MONTHS);
+        assertTrue(range.contains(new Date(31, 3, 2023)));
+        assertTrue(range.contains(new Date(30, 11, 2023))); // Clamped to the end of November
+        assertFalse(range.contains(new Date(28, 2, 2023))); // Odd month, skipped by the step
+        assertFalse(range.contains(new Date(30, 3, 2023)));
+    }
+
+    // -------- Tests for intersection --------
+
+    @Test
+    void testIntersectionOverlapping() {
+        DateRange first = new DateRange(new Date(1, 1, 2023), new Date(31, 1, 2023), 7, DateRange.Unit.DAYS);
+        DateRange second = new DateRange(new Date(10, 1, 2023), new Date(2, 3, 2023));
+
+        DateRange both = first.intersection(second);
+
+        assertEquals(3, both.size()); // 15, 22, 29
+        assertEquals(new Date(15, 1, 2023), both.first());
+        assertEquals(new Date(29, 1, 2023), both.last());
+    }
+
+    @Test
+    void testIntersectionDisjoint() {
+        DateRange first = new DateRange(new Date(1, 1, 2023), new Date(31, 1, 2023));
+        DateRange second = new DateRange(new Date(1, 2, 2023), new Date(28, 2, 2023));
+        assertTrue(first.intersection(second).isEmpty());
+    }
+
+    @Test
+    void testIntersectionKeepsMonthOrigin() {
+        DateRange months = new DateRange(new Date(31, 1, 2023), new Date(31, 12, 2023), 1, DateRange.Unit.MONTHS);
+        DateRange spring = new DateRange(new Date(1, 2, 2023), new Date(30, 4, 2023));
+
+        List<Date> dates = months.intersection(spring).stream().collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(new Date(28, 2, 2023), new Date(31, 3, 2023), new Date(30, 4, 2023)), dates);
+    }
+
+    @Test
+    void testIntersectionIsSymmetric() {
+        DateRange daily = new DateRange(new Date(1, 1, 2023), new Date(10, 1, 2023));
+        DateRange everyThree = new DateRange(new Date(1, 1, 2023), new Date(10, 1, 2023), 3, DateRange.Unit.DAYS);
+
+        assertEquals(4, daily.intersection(everyThree).size()); // 1, 4, 7, 10
+        assertEquals(4, everyThree.intersection(daily).size());
+        assertEquals(new Date(10, 1, 2023), daily.intersection(everyThree).last());
+    }
+
+    @Test
+    void testIntersectionOfTwoSteps() {
+        DateRange everyFour = new DateRange(new Date(2, 1, 2023), new Date(31, 3, 2023), 4, DateRange.Unit.DAYS);
+        DateRange everySix = new DateRange(new Date(4, 1, 2023), new Date(31, 3, 2023), 6, DateRange.Unit.DAYS);
+
+        DateRange both = everyFour.intersection(everySix);
+
+        List<Date> expected = everyFour.stream().filter(everySix::contains).collect(Collectors.toList());
+        assertEquals(expected, both.stream().collect(Collectors.toList())); // 10/01, 22/01, ... every 12 days
+        assertEquals(new Date(10, 1, 2023), both.first());
+        assertEquals(expected, everySix.intersection(everyFour).stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testIntersectionOfStepsNeverMeeting() {
+        DateRange even = new DateRange(new Date(1, 1, 2023), new Date(31, 12, 2023), 2, DateRange.Unit.DAYS);
+        DateRange odd = new DateRange(new Date(2, 1, 2023), new Date(31, 12, 2023), 4, DateRange.Unit.DAYS);
+        assertTrue(even.intersection(odd).isEmpty());
+    }
+
+    @Test
+    void testIntersectionMatchesFilterRandom() {
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            Date base = new Date(1, 1, 2000);
+            DateRange a = new DateRange(base.plusDays(random.nextInt(50)), base.plusDays(100 + random.nextInt(300)),
+                    1 + random.nextInt(12), DateRange.Unit.DAYS);
+            DateRange b = new DateRange(base.plusDays(random.nextInt(50)), base.plusDays(100 + random.nextInt(300)),
+                    1 + random.nextInt(12), DateRange.Unit.DAYS);
+
+            List<Date> expected = a.stream().filter(b::contains).collect(Collectors.toList());
+            assertEquals(expected, a.intersection(b).stream().collect(Collectors.toList()), a + " and " + b);
+            assertEquals(expected, b.intersection(a).stream().collect(Collectors.toList()), b + " and " + a);
+        }
+    }
+
+    @Test
+    void testIntersectionOfMonthsWithSteppedDays() {
+        DateRange months = new DateRange(new Date(1, 1, 2023), new Date(31, 12, 2023), 1, DateRange.Unit.MONTHS);
+        DateRange weekly = new DateRange(new Date(1, 1, 2023), new Date(31, 12, 2023), 7, DateRange.Unit.DAYS);
+        assertThrows(IllegalArgumentException.class, () -> months.intersection(weekly));
+    }
+
+    // -------- Tests for stream --------
+
+    @Test
+    void testParallelStreamMatchesSequential() {
+        DateRange range = new DateRange(new Date(1, 1, 1900), new Date(31, 12, 2100));
+
+        List<Date> sequential = range.stream().collect(Collectors.toList());
+        List<Date> parallel = range.stream().parallel().collect(Collectors.toList());
+
+        assertEquals(range.size(), sequential.size());
+        assertEquals(sequential, parallel); // Order is kept when splitting
+        assertEquals(new Date(1, 1, 1900).daysBetween(new Date(31, 12, 2100)) + 1, range.stream().parallel().count());
+    }
+
+    @Test
+    void testToString() {
+        DateRange range = new DateRange(new Date(1, 1, 2023), new Date(3, 1, 2023));
+        assertEquals("DateRange[01/01/2023..03/01/2023 every 1 DAYS]", range.toString());
+    }
+}
@@ -0,0 +1,106 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateSorterTest {
+
+    private static Date[] randomDates(int count, int minYear, int maxYear, long seed) {
+        Random random = new Random(seed);
+        int from = new Date(1, 1, minYear).toEpochDay();
+        int to = new Date(31, 12, maxYear).toEpochDay();
+        Date[] dates = new Date[count];
+        for (int i = 0; i < count; i++) {
+            dates[i] = Date.ofEpochDay(from + random.nextInt(to - from + 1));
+        }
+        return dates;
+    }
+
+    // -------- Tests for toSortKey --------
+
+    @Test
+    void testSortKeyStartsAtYearOne() {
+        assertEquals(0, new Date(1, 1, 1).toSortKey());
+        assertEquals(1, new Date(2, 1, 1).toSortKey());
+    }
+
+    @Test
+    void testSortKeyIsMonotonic() {
+        Date date = new Date(28, 2, 2019);
+        assertTrue(date.toSortKey() < date.nextDate().toSortKey());
+        assertTrue(new Date(31, 12, Date.MAX_YEAR).toSortKey() < (1 << 29)); // Fits in 29 bits
+    }
+
+    @Test
+    void testSortKeyComparator() {
+        Date first = new Date(31, 12, 2022);
+        Date second = new Date(1, 1, 2023);
+        assertTrue(Date.SORT_KEY_ORDER.compare(first, second) < 0);
+        assertEquals(0, Date.SORT_KEY_ORDER.compare(first, new Date(31, 12, 2022)));
+    }
+
+    // -------- Tests for radixSort --------
+
+    @Test
+    void testRadixSortMatchesArraysSort() {
+        Date[] dates = randomDates(100_000, 1, 9999, 1);
+        Date[] expected = dates.clone();
+        Arrays.sort(expected);
+
+        DateSorter.radixSort(dates);
+
+        assertArrayEquals(expected, dates);
+    }
+
+    @Test
+    void testRadixSortNarrowRange() {
+        Date[] dates = randomDates(10_000, 2023, 2023, 2); // Upper digits all equal, passes are skipped
+        Date[] expected = dates.clone();
+        Arrays.sort(expected);
+
+        DateSorter.radixSort(dates);
+
+        assertArrayEquals(expected, dates);
+    }
+
+    @Test
+    void testRadixSortIsStable() {
+        Date first = new Date(15, 5, 2023);
+        Date second = new Date(15, 5, 2023); // Equal but distinct instance
+        Date[] dates = {first, new Date(1, 1, 3000), second, new Date(1, 1, 1000)};
+
+        DateSorter.radixSort(dates);
+
+        assertSame(first, dates[1]);
+        assertSame(second, dates[2]);
+    }
+
+    @Test
+    void testRadixSortEmptyAndSingleton() {
+        Date[] empty = new Date[0];
+        DateSorter.radixSort(empty);
+        assertEquals(0, empty.length);
+
+        Date[] single = {new Date(1, 1, 2000)};
+        DateSorter.radixSort(single);
+        assertEquals(new Date(1, 1, 2000), single[0]);
+    }
+
+    @Test
+    void testRadixSortList() {
+        List<Date> dates = new ArrayList<>(Arrays.asList(randomDates(1000, 1900, 2100, 3)));
+        List<Date> expected = new ArrayList<>(dates);
+        Collections.sort(expected);
+
+        DateSorter.radixSort(dates);
+
+        assertEquals(expected, dates);
+    }
+}
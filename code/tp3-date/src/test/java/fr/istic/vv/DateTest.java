@@ -2,6 +2,13 @@ package fr.istic.vv;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class DateTest {
@@ -255,4 +262,209 @@ class DateTest {
         Date date = new Date(1, 1, 2023);
         assertEquals("01/01/2023", date.toString());
     }
+
+    // -------- Tests for day arithmetic --------
+
+    @Test
+    void testPlusDaysAcrossYears() {
+        Date date = new Date(15, 5, 2023);
+        assertEquals(new Date(14, 5, 2024), date.plusDays(365)); // 2024 is a leap year
+        assertEquals(new Date(16, 5, 2022), date.plusDays(-364));
+    }
+
+    @Test
+    void testMinusDays() {
+        Date date = new Date(1, 3, 2000);
+        assertEquals(new Date(29, 2, 2000), date.minusDays(1)); // 2000 is a leap year
+    }
+
+    @Test
+    void testPreviousDateBeforeYearOne() {
+        Date date = new Date(1, 1, 1);
+        assertThrows(IllegalArgumentException.class, date::previousDate);
+    }
+
+    @Test
+    void testNextDateAfterMaxYear() {
+        Date date = new Date(31, 12, Date.MAX_YEAR);
+        assertThrows(IllegalArgumentException.class, date::nextDate);
+    }
+
+    @Test
+    void testIsValidDateYearOverRange() {
+        assertTrue(Date.isValidDate(31, 12, Date.MAX_YEAR));
+        assertFalse(Date.isValidDate(1, 1, Date.MAX_YEAR + 1));
+    }
+
+    @Test
+    void testDaysBetween() {
+        Date start = new Date(1, 1, 2023);
+        Date end = new Date(1, 1, 2024);
+        assertEquals(365, start.daysBetween(end));
+        assertEquals(-365, end.daysBetween(start));
+        assertEquals(0, start.daysBetween(start));
+    }
+
+    @Test
+    void testDayOfWeek() {
+        assertEquals(DayOfWeek.THURSDAY, new Date(1, 1, 1970).dayOfWeek());
+        assertEquals(DayOfWeek.MONDAY, new Date(15, 5, 2023).dayOfWeek());
+        assertEquals(DayOfWeek.MONDAY, new Date(1, 1, 1).dayOfWeek());
+    }
+
+    @Test
+    void testEpochDayMatchesLocalDate() {
+        LocalDate reference = LocalDate.of(1, 1, 1);
+        Date date = new Date(1, 1, 1);
+        for (int i = 0; i < 800_000; i += 97) { // spans more than two 400-year eras
+            LocalDate expected = reference.plusDays(i);
+            Date actual = date.plusDays(i);
+            assertEquals(expected.toEpochDay(), actual.toEpochDay());
+            assertEquals(expected.getDayOfMonth(), actual.getDay());
+            assertEquals(expected.getMonthValue(), actual.getMonth());
+            assertEquals(expected.getYear(), actual.getYear());
+            assertEquals(expected.getDayOfWeek(), actual.dayOfWeek());
+        }
+    }
+
+    @Test
+    void testOfEpochDay() {
+        assertEquals(new Date(1, 1, 1970), Date.ofEpochDay(0));
+        assertEquals(new Date(31, 12, 1969), Date.ofEpochDay(-1));
+        assertThrows(IllegalArgumentException.class, () -> Date.ofEpochDay(Long.MIN_VALUE));
+    }
+
+    @Test
+    void testHashCode_EqualDates() {
+        assertEquals(new Date(15, 5, 2023).hashCode(), new Date(14, 5, 2023).nextDate().hashCode());
+    }
+
+    @Test
+    void testIsLeapYearMatchesJavaTime() {
+        for (int year = -2000; year <= 5000; year++) {
+            assertEquals(Year.isLeap(year), Date.isLeapYear(year), "year " + year);
+        }
+    }
+
+    @Test
+    void testIsValidDateMatchesJavaTime() {
+        for (int year = 1; year <= 2400; year++) {
+            for (int month = 0; month <= 13; month++) {
+                for (int day = -1; day <= 32; day++) {
+                    boolean expected = month >= 1 && month <= 12 && day >= 1
+                            && day <= YearMonth.of(year, month).lengthOfMonth();
+                    assertEquals(expected, Date.isValidDate(day, month, year));
+                }
+            }
+        }
+    }
+
+    // -------- Tests for parse and formatTo --------
+
+    @Test
+    void testParseDayMonthYear() {
+        assertEquals(new Date(15, 5, 2023), Date.parse("15/05/2023"));
+    }
+
+    @Test
+    void testParseIso() {
+        assertEquals(new Date(29, 2, 2020), Date.parse("2020-02-29"));
+        assertEquals(new Date(1, 1, 12345), Date.parse("12345-01-01"));
+    }
+
+    @Test
+    void testParseInvalidFormat() {
+        assertThrows(IllegalArgumentException.class, () -> Date.parse("15-05-2023"));
+        assertThrows(IllegalArgumentException.class, () -> Date.parse("1/5/2023"));
+        assertThrows(IllegalArgumentException.class, () -> Date.parse("2023-5-15"));
+        assertThrows(IllegalArgumentException.class, () -> Date.parse("15/0a/2023"));
+        assertThrows(IllegalArgumentException.class, () -> Date.parse(""));
+    }
+
+    @Test
+    void testParseInvalidDate() {
+        assertThrows(IllegalArgumentException.class, () -> Date.parse("29/02/2019")); // Non-leap year
+    }
+
+    @Test
+    void testToStringRoundTripsThroughParse() {
+        Date date = new Date(1, 1, 1);
+        assertEquals("01/01/0001", date.toString()); // Year padded to four digits
+        for (int i = 0; i < 1_000_000; i += 997) {
+            Date next = date.plusDays(i);
+            assertEquals(next, Date.parse(next.toString()));
+        }
+    }
+
+    @Test
+    void testToStringLongYear() {
+        assertEquals("07/03/123456", new Date(7, 3, 123456).toString());
+    }
+
+    @Test
+    void testFormatToAppendable() throws IOException {
+        StringBuilder sb = new StringBuilder("date=");
+        new Date(9, 11, 1989).formatTo(sb);
+        assertEquals("date=09/11/1989", sb.toString());
+    }
+
+    @Test
+    void testFormatToBytes() {
+        byte[] buffer = new byte[16];
+        buffer[0] = ',';
+
+        int end = new Date(9, 11, 1989).formatTo(buffer, 1);
+
+        assertEquals(11, end); // Index after the last byte
+        assertEquals(",09/11/1989", new String(buffer, 0, end, StandardCharsets.US_ASCII));
+        assertThrows(IndexOutOfBoundsException.class, () -> new Date(9, 11, 1989).formatTo(buffer, 7));
+    }
+
+    // -------- Tests for the shared instances --------
+
+    @Test
+    void testOfReturnsSharedInstance() {
+        Date date = Date.of(15, 5, 2023);
+        assertSame(date, Date.of(15, 5, 2023));
+        assertEquals(new Date(15, 5, 2023), date);
+    }
+
+    @Test
+    void testOfInvalidDate() {
+        assertThrows(IllegalArgumentException.class, () -> Date.of(31, 4, 2023));
+    }
+
+    @Test
+    void testArithmeticAndParseReturnSharedInstances() {
+        Date date = Date.of(1, 3, 2020);
+        assertSame(Date.of(29, 2, 2020), date.previousDate());
+        assertSame(Date.of(2, 3, 2020), date.nextDate());
+        assertSame(date, Date.parse("2020-03-01"));
+    }
+
+    @Test
+    void testOfOutsideCachedRange() {
+        Date date = Date.of(1, 1, 5000);
+        assertNotSame(date, Date.of(1, 1, 5000)); // Allocated each time, still equal
+        assertEquals(date, Date.of(1, 1, 5000));
+    }
+
+    // -------- Tests for plusMonths --------
+
+    @Test
+    void testPlusMonthsClampsToEndOfMonth() {
+        assertEquals(new Date(29, 2, 2024), new Date(31, 1, 2024).plusMonths(1)); // Leap year
+        assertEquals(new Date(28, 2, 2023), new Date(31, 1, 2023).plusMonths(1));
+    }
+
+    @Test
+    void testPlusMonthsAcrossYears() {
+        assertEquals(new Date(15, 2, 2024), new Date(15, 11, 2023).plusMonths(3));
+        assertEquals(new Date(15, 11, 2022), new Date(15, 2, 2023).plusMonths(-3));
+    }
+
+    @Test
+    void testPlusMonthsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new Date(1, 1, 1).plusMonths(-1));
+    }
 }
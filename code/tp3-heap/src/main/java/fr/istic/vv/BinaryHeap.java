@@ -1,88 +1,307 @@
 package fr.istic.vv;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class BinaryHeap<T> {
+public class BinaryHeap<T> implements Heap<T>, Iterable<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
 
     private final Comparator<T> comp; // comparator, used for comparisons
-    private final ArrayList<T> data;  // stores all the elements of the heap
+    private final int capacity;       // maximum number of elements kept (bounded mode)
+    private Object[] data;            // stores all the elements of the heap
+    private int size;                 // number of slots of data actually used
 
     // Constructor (creates heap and sets comparator)
     public BinaryHeap(Comparator<T> comp) {
         this.comp = comp;
-        this.data = new ArrayList<>();
+        this.capacity = Integer.MAX_VALUE;
+        this.data = new Object[DEFAULT_CAPACITY];
+    }
+
+    // Constructor (creates heap holding all the given elements, built in linear time)
+    public BinaryHeap(Comparator<T> comp, Collection<? extends T> elements) {
+        this.comp = comp;
+        this.capacity = Integer.MAX_VALUE;
+        checkNoNulls(elements);
+        this.data = elements.toArray();
+        this.size = data.length;
+        if (data.length == 0) {
+            data = new Object[DEFAULT_CAPACITY];
+        } else if (data.getClass() != Object[].class) {
+            data = Arrays.copyOf(data, data.length, Object[].class); // toArray may hand back a T[]
+        }
+        heapify();
+    }
+
+    // Constructor (creates heap holding all the given elements, built in linear time)
+    public BinaryHeap(Comparator<T> comp, T[] elements) {
+        this(comp, Arrays.asList(elements));
+    }
+
+    private BinaryHeap(Comparator<T> comp, int capacity) {
+        this.comp = comp;
+        this.capacity = capacity;
+        this.data = new Object[Math.min(capacity, DEFAULT_CAPACITY)];
+    }
+
+    // Creates a heap that keeps only the k greatest elements pushed (according to comp).
+    // Once full, an element is admitted only if it is greater than the root, which it
+    // then replaces in a single sift; the root is the weakest of the k kept elements.
+    public static <E> BinaryHeap<E> bounded(Comparator<E> comp, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1: " + k);
+        }
+        return new BinaryHeap<>(comp, k);
+    }
+
+    // Collects the k greatest elements of a stream (according to comp), greatest first.
+    // Each thread of a parallel stream fills its own bounded heap, so memory is O(k) per
+    // thread and time O(n log k); partial heaps are merged into the larger one.
+    public static <E> Collector<E, ?, List<E>> topK(int k, Comparator<E> comp) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1: " + k);
+        }
+        return Collector.of(
+                () -> new BinaryHeap<E>(comp, k),
+                BinaryHeap::push,
+                BinaryHeap::merge,
+                heap -> {
+                    List<E> result = new ArrayList<>(heap.size);
+                    while (heap.size > 0) {
+                        result.add(heap.pop()); // weakest first
+                    }
+                    Collections.reverse(result);
+                    return result;
+                },
+                Collector.Characteristics.UNORDERED);
     }
 
     // Adds an element to the Heap
+    @Override
     public void push(T element) {
         if (element == null) {
             throw new NullPointerException("Cannot insert null into the heap");
         }
-        data.add(element); // just add to the end for now
-        int newElementPosition = data.size() - 1;
-        while (newElementPosition > 0) {
-            int parent = (newElementPosition - 1) / 2; // find parent
-            if (comp.compare(data.get(newElementPosition), data.get(parent)) < 0) { // if child is smaller
-                T tmp = data.get(newElementPosition); // swap
-                data.set(newElementPosition, data.get(parent));
-                data.set(parent, tmp);
-                newElementPosition = parent; // move up
-            } else {
-                break; // done, heap is correct
+        if (size == capacity) { // bounded and full: keep element only if it beats the root
+            if (comp.compare(element, elementAt(0)) > 0) {
+                siftDown(0, element);
+            }
+            return;
+        }
+        if (size == data.length) {
+            data = Arrays.copyOf(data, (int) Math.min((long) size * 2, capacity));
+        }
+        siftUp(size++, element);
+    }
+
+    // Adds all the given elements to the Heap
+    public void pushAll(Collection<? extends T> elements) {
+        checkNoNulls(elements);
+        if (elements.size() < size || capacity != Integer.MAX_VALUE) {
+            for (T element : elements) { // small batch, sifting each one up is cheaper
+                push(element);
             }
+            return;
+        }
+        int needed = size + elements.size();
+        if (needed > data.length) {
+            data = Arrays.copyOf(data, needed); // grow the backing store once for the whole batch
+        }
+        for (T element : elements) {
+            data[size++] = element;
         }
+        heapify();
     }
 
     // Removes the top (smallest/biggest element depending on comparator)
+    @Override
     public T pop() {
-        if (data.isEmpty()) {
+        if (size == 0) {
             throw new NoSuchElementException("empty!"); // can't pop from empty heap
         }
-        T top = data.get(0); // root element
-        T last = data.remove(data.size() - 1); // remove last element
-        if (!data.isEmpty()) { // if there is anything left
-            data.set(0, last); // move last to root
-            int i = 0; // start bubbling down
-            while (true) {
-                int left = 2 * i + 1;
-                int smallest = i;
-
-                if (left < data.size() && comp.compare(data.get(left), data.get(i)) < 0) {
-                    smallest = left;
-                }
-
-                if (smallest == i) { // if nothing to swap
-                    break;
-                }
-
-                // swap
-                T tmp = data.get(i);
-                data.set(i, data.get(smallest));
-                data.set(smallest, tmp);
-
-                i = smallest; // move to the position of the swapped child
-            }
+        T top = elementAt(0); // root element
+        T last = elementAt(--size);
+        data[size] = null; // let the removed slot be garbage collected
+        if (size > 0) {
+            siftDown(0, last); // last element fills the hole left at the root
+        }
+        return top;
+    }
+
+    // Pops up to maxElements elements, in order, into target; returns how many were moved
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        int n = Math.min(maxElements, size);
+        for (int i = 0; i < n; i++) {
+            target.add(pop());
+        }
+        return Math.max(n, 0);
+    }
+
+    // Pops up to n elements, in order, into target[0..); returns how many were moved
+    public int popBatch(T[] target, int n) {
+        if (n > target.length) {
+            throw new IllegalArgumentException("batch of " + n + " does not fit in an array of " + target.length);
+        }
+        n = Math.min(n, size);
+        for (int i = 0; i < n; i++) {
+            target[i] = pop();
+        }
+        return Math.max(n, 0);
+    }
+
+    // Iterates over the elements in no particular order, without removing them.
+    // The heap must not be modified while the iteration is in progress.
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    // Splits the elements in no particular order, for parallel streams. The heap must
+    // not be modified while the spliterator is in use.
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(data, 0, size, Spliterator.NONNULL);
+    }
+
+    // Returns a stream over the elements, in no particular order
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // Sorts a in place, in ascending order, with the heap sift routine (heap sort)
+    public static <E> void sort(E[] a, Comparator<E> comp) {
+        Comparator<E> reversed = comp.reversed(); // max-heap, so the greatest goes to the end
+        int n = a.length;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, n, i, a[i], reversed);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            E last = a[end];
+            a[end] = a[0];
+            siftDown(a, end, 0, last, reversed);
+        }
+    }
+
+    // Replaces the top element by element in a single sift and returns the old top
+    public T replaceTop(T element) {
+        if (element == null) {
+            throw new NullPointerException("Cannot insert null into the heap");
+        }
+        if (size == 0) {
+            throw new NoSuchElementException("empty!");
         }
-        return top; // return the minimum/maximum as per heap type
+        T top = elementAt(0);
+        siftDown(0, element);
+        return top;
     }
 
     // Returns but does not remove the smallest (or biggest) element
+    @Override
     public T peek() {
-        if (data.isEmpty()) {
+        if (size == 0) {
             throw new NoSuchElementException("nothing to peek at"); // trying to peek empty heap
         }
-        return data.get(0); // root is always the smallest
+        return elementAt(0); // root is always the smallest
+    }
+
+    // Pushes the elements of the smaller heap into the larger one and returns the latter
+    private static <T> BinaryHeap<T> merge(BinaryHeap<T> a, BinaryHeap<T> b) {
+        BinaryHeap<T> into = a.size >= b.size ? a : b;
+        BinaryHeap<T> from = into == a ? b : a;
+        for (int i = 0; i < from.size; i++) {
+            into.push(from.elementAt(i));
+        }
+        return into;
+    }
+
+    // Restores heap order over the whole array bottom-up (Floyd), in O(n)
+    private void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, elementAt(i));
+        }
+    }
+
+    // Places element in the hole at i, moving parents down while they are greater.
+    // Each element is written once instead of being swapped at every level.
+    private void siftUp(int i, T element) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            T parentElement = elementAt(parent);
+            if (comp.compare(element, parentElement) >= 0) {
+                break; // done, heap is correct
+            }
+            data[i] = parentElement;
+            i = parent;
+        }
+        data[i] = element;
+    }
+
+    private void siftDown(int i, T element) {
+        siftDown(data, size, i, element, comp);
+    }
+
+    // Places element in the hole at i of the heap held by data[0..size), moving the
+    // smaller child up while it is smaller
+    @SuppressWarnings("unchecked")
+    private static <E> void siftDown(Object[] data, int size, int i, E element, Comparator<E> comp) {
+        int half = size >>> 1; // nodes from half onwards are leaves
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            E childElement = (E) data[child];
+            if (right < size && comp.compare((E) data[right], childElement) < 0) {
+                child = right;
+                childElement = (E) data[right];
+            }
+            if (comp.compare(childElement, element) >= 0) {
+                break;
+            }
+            data[i] = childElement;
+            i = child;
+        }
+        data[i] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int i) {
+        return (T) data[i];
+    }
+
+    private static void checkNoNulls(Collection<?> elements) {
+        for (Object element : elements) {
+            if (element == null) {
+                throw new NullPointerException("Cannot insert null into the heap");
+            }
+        }
     }
 
     // Returns the number of elements in the heap
+    @Override
     public int count() {
-        return data.size(); // size of underlying array list is the count
+        return size; // number of used slots is the count
     }
 
     @Override
     public String toString() {
-        return "BinaryHeap: " + data;
+        StringBuilder sb = new StringBuilder("BinaryHeap: [");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(data[i]);
+        }
+        return sb.append(']').toString();
     }
-}
\ No newline at end of file
+}
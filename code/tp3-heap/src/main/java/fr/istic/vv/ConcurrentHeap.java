@@ -0,0 +1,180 @@
+package fr.istic.vv;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Thread-safe priority queue made of several BinaryHeap stripes, each with its own lock
+// (MultiQueue design). push goes to a random stripe, pop looks at the roots of two
+// random stripes and takes the better one. Threads rarely fight over the same lock, at
+// the cost of a relaxed order: pop returns one of the smallest elements, not always the
+// smallest. With a single stripe the order is exact. As a Heap, pop and peek follow
+// that relaxed order.
+public class ConcurrentHeap<T> implements Heap<T> {
+
+    private final Comparator<T> comp;      // comparator, used for comparisons
+    private final Stripe<T>[] stripes;     // independent sub-heaps
+    private final Semaphore available;     // one permit per element not yet claimed by a consumer
+
+    private static final class Stripe<T> {
+        final ReentrantLock lock = new ReentrantLock();
+        final BinaryHeap<T> heap;
+        volatile T top; // root of heap, written under lock, read without it
+
+        Stripe(Comparator<T> comp) {
+            this.heap = new BinaryHeap<>(comp);
+        }
+    }
+
+    // Constructor (creates heap with two stripes per available processor)
+    public ConcurrentHeap(Comparator<T> comp) {
+        this(comp, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    // Constructor (creates heap with the given number of stripes)
+    @SuppressWarnings("unchecked")
+    public ConcurrentHeap(Comparator<T> comp, int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripe count must be at least 1: " + stripeCount);
+        }
+        this.comp = comp;
+        this.stripes = (Stripe<T>[]) new Stripe<?>[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(comp);
+        }
+        this.available = new Semaphore(0);
+    }
+
+    // Adds an element to the Heap
+    @Override
+    public void push(T element) {
+        if (element == null) {
+            throw new NullPointerException("Cannot insert null into the heap");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Stripe<T> stripe = null;
+        for (int attempt = 0; attempt < stripes.length; attempt++) {
+            Stripe<T> candidate = stripes[random.nextInt(stripes.length)];
+            if (candidate.lock.tryLock()) {
+                stripe = candidate;
+                break;
+            }
+        }
+        if (stripe == null) { // every stripe we tried was busy, wait for one
+            stripe = stripes[random.nextInt(stripes.length)];
+            stripe.lock.lock();
+        }
+        try {
+            stripe.heap.push(element);
+            stripe.top = stripe.heap.peek();
+        } finally {
+            stripe.lock.unlock();
+        }
+        available.release();
+    }
+
+    // Removes one of the top elements, without waiting
+    @Override
+    public T pop() {
+        if (!available.tryAcquire()) {
+            throw new NoSuchElementException("empty!"); // can't pop from empty heap
+        }
+        return claim();
+    }
+
+    // Removes one of the top elements, waiting until one is available
+    public T take() throws InterruptedException {
+        available.acquire();
+        return claim();
+    }
+
+    // Removes one of the top elements, waiting at most timeout; returns null if none came
+    public T take(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!available.tryAcquire(timeout, unit)) {
+            return null;
+        }
+        return claim();
+    }
+
+    // Returns but does not remove the best root among the stripes. Under concurrent
+    // updates the result may already have been popped by another thread.
+    @Override
+    public T peek() {
+        T best = null;
+        for (Stripe<T> stripe : stripes) {
+            T top = stripe.top;
+            if (top != null && (best == null || comp.compare(top, best) < 0)) {
+                best = top;
+            }
+        }
+        if (best == null) {
+            throw new NoSuchElementException("nothing to peek at");
+        }
+        return best;
+    }
+
+    // Returns the number of elements in the heap (a snapshot under concurrent updates)
+    @Override
+    public int count() {
+        return available.availablePermits();
+    }
+
+    // Pops an element for a caller holding a permit: such an element is guaranteed to
+    // exist in some stripe, we only have to find it.
+    private T claim() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Stripe<T> first = stripes[random.nextInt(stripes.length)];
+            Stripe<T> second = stripes[random.nextInt(stripes.length)];
+            Stripe<T> best = better(first, second);
+            if (best == null) {
+                best = anyNonEmpty(random.nextInt(stripes.length));
+                if (best == null) { // the element is still being pushed
+                    Thread.yield();
+                    continue;
+                }
+            }
+            if (best.lock.tryLock()) {
+                try {
+                    if (best.heap.count() > 0) {
+                        T element = best.heap.pop();
+                        best.top = best.heap.count() > 0 ? best.heap.peek() : null;
+                        return element;
+                    }
+                } finally {
+                    best.lock.unlock();
+                }
+            }
+        }
+    }
+
+    private Stripe<T> better(Stripe<T> a, Stripe<T> b) {
+        T topA = a.top;
+        T topB = b.top;
+        if (topA == null) {
+            return topB == null ? null : b;
+        }
+        if (topB == null) {
+            return a;
+        }
+        return comp.compare(topB, topA) < 0 ? b : a;
+    }
+
+    private Stripe<T> anyNonEmpty(int start) {
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe<T> stripe = stripes[(start + i) % stripes.length];
+            if (stripe.top != null) {
+                return stripe;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentHeap: " + count() + " elements in " + stripes.length + " stripes";
+    }
+}
@@ -0,0 +1,113 @@
+package fr.istic.vv;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+// Same contract as BinaryHeap, but every node has `arity` children stored next to each
+// other. With 4 or 8 children the tree is half or a third as deep, and the children
+// compared at each level of pop usually share a cache line.
+public class DaryHeap<T> implements Heap<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Comparator<T> comp; // comparator, used for comparisons
+    private final int arity;          // number of children of each node
+    private Object[] data;            // stores all the elements of the heap
+    private int size;                 // number of slots of data actually used
+
+    // Constructor (creates heap and sets comparator and number of children per node)
+    public DaryHeap(Comparator<T> comp, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("arity must be at least 2: " + arity);
+        }
+        this.comp = comp;
+        this.arity = arity;
+        this.data = new Object[DEFAULT_CAPACITY];
+    }
+
+    // Adds an element to the Heap
+    @Override
+    public void push(T element) {
+        if (element == null) {
+            throw new NullPointerException("Cannot insert null into the heap");
+        }
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            if (comp.compare(element, elementAt(parent)) >= 0) {
+                break; // done, heap is correct
+            }
+            data[i] = data[parent]; // move the parent down into the hole
+            i = parent;
+        }
+        data[i] = element;
+    }
+
+    // Removes the top (smallest/biggest element depending on comparator)
+    @Override
+    public T pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("empty!"); // can't pop from empty heap
+        }
+        T top = elementAt(0);
+        T last = elementAt(--size);
+        data[size] = null; // let the removed slot be garbage collected
+        if (size > 0) {
+            int i = 0;
+            while (true) {
+                int first = arity * i + 1;
+                if (first >= size) {
+                    break; // i is a leaf
+                }
+                int end = Math.min(first + arity, size);
+                int smallest = first;
+                for (int child = first + 1; child < end; child++) {
+                    if (comp.compare(elementAt(child), elementAt(smallest)) < 0) {
+                        smallest = child;
+                    }
+                }
+                if (comp.compare(elementAt(smallest), last) >= 0) {
+                    break;
+                }
+                data[i] = data[smallest]; // move the smallest child up into the hole
+                i = smallest;
+            }
+            data[i] = last;
+        }
+        return top;
+    }
+
+    // Returns but does not remove the smallest (or biggest) element
+    @Override
+    public T peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("nothing to peek at");
+        }
+        return elementAt(0);
+    }
+
+    // Returns the number of elements in the heap
+    @Override
+    public int count() {
+        return size;
+    }
+
+    // Returns the number of children of each node
+    public int arity() {
+        return arity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int i) {
+        return (T) data[i];
+    }
+
+    @Override
+    public String toString() {
+        return "DaryHeap: " + Arrays.toString(Arrays.copyOf(data, size));
+    }
+}
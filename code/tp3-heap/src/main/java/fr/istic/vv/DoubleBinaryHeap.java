@@ -0,0 +1,92 @@
+package fr.istic.vv;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class DoubleBinaryHeap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final boolean reversed; // true for a max-heap, false for a min-heap
+    private double[] data;          // stores all the elements of the heap
+    private int size;               // number of slots of data actually used
+
+    // Constructor (creates a min-heap)
+    public DoubleBinaryHeap() {
+        this(false);
+    }
+
+    // Constructor (creates a max-heap when reversed is true, a min-heap otherwise)
+    public DoubleBinaryHeap(boolean reversed) {
+        this.reversed = reversed;
+        this.data = new double[DEFAULT_CAPACITY];
+    }
+
+    // Adds an element to the Heap
+    public void push(double element) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2); // out of room, double the backing array
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(element, data[parent])) {
+                break; // done, heap is correct
+            }
+            data[i] = data[parent]; // move the parent down into the hole
+            i = parent;
+        }
+        data[i] = element;
+    }
+
+    // Removes the top (smallest/biggest element depending on ordering)
+    public double pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("empty!"); // can't pop from empty heap
+        }
+        double top = data[0];
+        double last = data[--size];
+        if (size > 0) {
+            int i = 0;
+            int half = size >>> 1; // nodes from half onwards are leaves
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < size && before(data[right], data[child])) {
+                    child = right;
+                }
+                if (!before(data[child], last)) {
+                    break;
+                }
+                data[i] = data[child]; // move the child up into the hole
+                i = child;
+            }
+            data[i] = last;
+        }
+        return top;
+    }
+
+    // Returns but does not remove the smallest (or biggest) element
+    public double peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("nothing to peek at");
+        }
+        return data[0];
+    }
+
+    // Returns the number of elements in the heap
+    public int count() {
+        return size;
+    }
+
+    // true if a must be closer to the root than b
+    private boolean before(double a, double b) {
+        int c = Double.compare(a, b); // same total order as Double.compareTo (NaN last, -0.0 < 0.0)
+        return reversed ? c > 0 : c < 0;
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleBinaryHeap: " + Arrays.toString(Arrays.copyOf(data, size));
+    }
+}
@@ -0,0 +1,18 @@
+package fr.istic.vv;
+
+// Operations shared by the priority queues of this package. The top element is the
+// smallest one according to the comparator the heap was created with.
+public interface Heap<T> {
+
+    // Adds an element to the Heap
+    void push(T element);
+
+    // Removes and returns the top element
+    T pop();
+
+    // Returns but does not remove the top element
+    T peek();
+
+    // Returns the number of elements in the heap
+    int count();
+}
@@ -0,0 +1,217 @@
+package fr.istic.vv;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+// Binary heap where every pushed element gets an int handle that can later be used
+// to change its priority or remove it in O(log n). A handle becomes invalid once its
+// element leaves the heap (pop or remove) and may then be reused by a later push.
+public class IndexedBinaryHeap<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Comparator<T> comp; // comparator, used for comparisons
+    private Object[] elements;        // element of each handle (null if the handle is free)
+    private int[] heap;               // handle stored at each position of the heap
+    private int[] positions;          // position in heap of each handle (-1 if the handle is free)
+    private int[] freeHandles;        // stack of released handles, reused before new ones
+    private int freeCount;            // number of handles in freeHandles
+    private int nextHandle;           // smallest handle never given out yet
+    private int size;                 // number of elements in the heap
+
+    // Constructor (creates heap and sets comparator)
+    public IndexedBinaryHeap(Comparator<T> comp) {
+        this.comp = comp;
+        this.elements = new Object[DEFAULT_CAPACITY];
+        this.heap = new int[DEFAULT_CAPACITY];
+        this.positions = new int[DEFAULT_CAPACITY];
+        this.freeHandles = new int[DEFAULT_CAPACITY];
+    }
+
+    // Adds an element to the Heap and returns its handle
+    public int push(T element) {
+        if (element == null) {
+            throw new NullPointerException("Cannot insert null into the heap");
+        }
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if (nextHandle == elements.length) {
+                grow();
+            }
+            handle = nextHandle++;
+        }
+        elements[handle] = element;
+        siftUp(size++, handle);
+        return handle;
+    }
+
+    // Removes the top (smallest/biggest element depending on comparator)
+    public T pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("empty!"); // can't pop from empty heap
+        }
+        return removeAt(0);
+    }
+
+    // Returns but does not remove the smallest (or biggest) element
+    public T peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("nothing to peek at");
+        }
+        return element(heap[0]);
+    }
+
+    // Returns the number of elements in the heap
+    public int count() {
+        return size;
+    }
+
+    // Tells whether handle currently refers to an element of the heap
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < nextHandle && positions[handle] >= 0;
+    }
+
+    // Returns the element referred to by handle
+    public T get(int handle) {
+        checkHandle(handle);
+        return element(handle);
+    }
+
+    // Replaces the element of handle by one that does not compare greater, moving it up
+    public void decreaseKey(int handle, T element) {
+        checkHandle(handle);
+        if (element == null) {
+            throw new NullPointerException("Cannot insert null into the heap");
+        }
+        if (comp.compare(element, element(handle)) > 0) {
+            throw new IllegalArgumentException("new element is greater than the current one");
+        }
+        elements[handle] = element;
+        siftUp(positions[handle], handle);
+    }
+
+    // Replaces the element of handle by one that does not compare smaller, moving it down
+    public void increaseKey(int handle, T element) {
+        checkHandle(handle);
+        if (element == null) {
+            throw new NullPointerException("Cannot insert null into the heap");
+        }
+        if (comp.compare(element, element(handle)) < 0) {
+            throw new IllegalArgumentException("new element is smaller than the current one");
+        }
+        elements[handle] = element;
+        siftDown(positions[handle], handle);
+    }
+
+    // Replaces the element of handle, moving it whichever way the new element requires
+    public void update(int handle, T element) {
+        checkHandle(handle);
+        if (element == null) {
+            throw new NullPointerException("Cannot insert null into the heap");
+        }
+        int cmp = comp.compare(element, element(handle));
+        elements[handle] = element;
+        if (cmp < 0) {
+            siftUp(positions[handle], handle);
+        } else if (cmp > 0) {
+            siftDown(positions[handle], handle);
+        }
+    }
+
+    // Removes the element referred to by handle and returns it
+    public T remove(int handle) {
+        checkHandle(handle);
+        return removeAt(positions[handle]);
+    }
+
+    private T removeAt(int position) {
+        int handle = heap[position];
+        T removed = element(handle);
+        int last = heap[--size];
+        if (position != size) {
+            // fill the hole with the last element, which may belong above or below it
+            if (position > 0 && comp.compare(element(last), element(heap[(position - 1) >>> 1])) < 0) {
+                siftUp(position, last);
+            } else {
+                siftDown(position, last);
+            }
+        }
+        elements[handle] = null;
+        positions[handle] = -1;
+        freeHandles[freeCount++] = handle;
+        return removed;
+    }
+
+    // Moves handle from the hole at position towards the root until its parent is not greater
+    private void siftUp(int position, int handle) {
+        T element = element(handle);
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentHandle = heap[parent];
+            if (comp.compare(element, element(parentHandle)) >= 0) {
+                break; // done, heap is correct
+            }
+            heap[position] = parentHandle;
+            positions[parentHandle] = position;
+            position = parent;
+        }
+        heap[position] = handle;
+        positions[handle] = position;
+    }
+
+    // Moves handle from the hole at position towards the leaves until no child is smaller
+    private void siftDown(int position, int handle) {
+        T element = element(handle);
+        int half = size >>> 1; // nodes from half onwards are leaves
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && comp.compare(element(heap[right]), element(heap[child])) < 0) {
+                child = right;
+            }
+            int childHandle = heap[child];
+            if (comp.compare(element(childHandle), element) >= 0) {
+                break;
+            }
+            heap[position] = childHandle;
+            positions[childHandle] = position;
+            position = child;
+        }
+        heap[position] = handle;
+        positions[handle] = position;
+    }
+
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("no element for handle " + handle);
+        }
+    }
+
+    private void grow() {
+        int capacity = elements.length * 2;
+        elements = Arrays.copyOf(elements, capacity);
+        heap = Arrays.copyOf(heap, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        freeHandles = Arrays.copyOf(freeHandles, capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(int handle) {
+        return (T) elements[handle];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IndexedBinaryHeap: [");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[heap[i]]);
+        }
+        return sb.append(']').toString();
+    }
+}
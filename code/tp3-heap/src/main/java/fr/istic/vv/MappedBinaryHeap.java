@@ -0,0 +1,237 @@
+package fr.istic.vv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Binary heap of fixed-width records stored in a memory-mapped file instead of the Java
+// heap. The file starts with a small header (magic, record size, count) followed by the
+// records in heap order, so reopening the file gives back the same heap. The file is
+// mapped in segments of whole records, which lets it grow past the 2 GB limit of a
+// single mapping. The last segment is mapped with room for twice as many records each
+// time it fills up, so the file stays close to the size of its records. Not thread-safe.
+public class MappedBinaryHeap implements Closeable {
+
+    // Compares the records stored at the given offsets of two buffers
+    public interface RecordComparator {
+
+        int compare(ByteBuffer a, int offsetA, ByteBuffer b, int offsetB);
+
+        // Orders records by the signed big-endian long found at keyOffset in each record
+        static RecordComparator longKey(int keyOffset) {
+            return (a, offsetA, b, offsetB) -> Long.compare(a.getLong(offsetA + keyOffset), b.getLong(offsetB + keyOffset));
+        }
+
+        // Orders records by their first keyLength bytes, compared as unsigned values
+        static RecordComparator unsignedBytes(int keyLength) {
+            return (a, offsetA, b, offsetB) -> {
+                for (int i = 0; i < keyLength; i++) {
+                    int cmp = Integer.compare(a.get(offsetA + i) & 0xFF, b.get(offsetB + i) & 0xFF);
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                }
+                return 0;
+            };
+        }
+    }
+
+    private static final int MAGIC = 0x48454150; // "HEAP"
+    private static final int HEADER_SIZE = 16;   // magic (int), record size (int), count (long)
+    private static final int COUNT_OFFSET = 8;
+    private static final long DEFAULT_SEGMENT_BYTES = 1L << 30;
+    private static final int INITIAL_RECORDS = 64;   // records mapped in a new segment
+
+    private final FileChannel channel;
+    private final RecordComparator comp;       // comparator, used for comparisons
+    private final int recordSize;              // bytes per record
+    private final int recordsPerSegment;       // records held by each mapped segment
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long capacity;                     // records that fit in the mapped segments
+    private final byte[] transfer;             // buffer used to copy records around
+    private final ByteBuffer hole;             // record being sifted, kept out of the file
+    private long size;                         // number of records in the heap
+
+    // Opens the heap stored in file, creating it if needed
+    public static MappedBinaryHeap open(Path file, int recordSize, RecordComparator comp) throws IOException {
+        return new MappedBinaryHeap(file, recordSize, comp, DEFAULT_SEGMENT_BYTES);
+    }
+
+    // Visible for tests, to exercise several segments with small files
+    MappedBinaryHeap(Path file, int recordSize, RecordComparator comp, long segmentBytes) throws IOException {
+        if (recordSize < 1) {
+            throw new IllegalArgumentException("record size must be positive: " + recordSize);
+        }
+        this.comp = comp;
+        this.recordSize = recordSize;
+        this.recordsPerSegment = (int) Math.max(1, Math.min(Integer.MAX_VALUE / recordSize, segmentBytes / recordSize));
+        this.transfer = new byte[recordSize];
+        this.hole = ByteBuffer.allocate(recordSize);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean fresh = channel.size() == 0;
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (fresh) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, recordSize);
+                header.putLong(COUNT_OFFSET, 0);
+            } else if (header.getInt(0) != MAGIC) {
+                throw new IOException("not a heap file: " + file);
+            } else if (header.getInt(4) != recordSize) {
+                throw new IOException("record size mismatch: file has " + header.getInt(4) + ", expected " + recordSize);
+            }
+            this.size = header.getLong(COUNT_OFFSET);
+            while (capacity < size) {
+                grow();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Adds the next recordSize bytes of record to the Heap
+    public void push(ByteBuffer record) throws IOException {
+        if (record.remaining() < recordSize) {
+            throw new IllegalArgumentException("record needs " + recordSize + " bytes, got " + record.remaining());
+        }
+        record.get(hole.array(), 0, recordSize);
+        if (size == capacity) {
+            grow();
+        }
+        long i = size++;
+        while (i > 0) {
+            long parent = (i - 1) >>> 1;
+            if (compareHole(parent) >= 0) {
+                break; // done, heap is correct
+            }
+            copy(parent, i); // move the parent down into the hole
+            i = parent;
+        }
+        write(i, hole.array());
+        header.putLong(COUNT_OFFSET, size);
+    }
+
+    // Removes the top record and writes it into target
+    public void pop(ByteBuffer target) {
+        peek(target);
+        long last = --size;
+        if (size > 0) {
+            read(last, hole.array());
+            long i = 0;
+            long half = size >>> 1; // nodes from half onwards are leaves
+            while (i < half) {
+                long child = 2 * i + 1;
+                long right = child + 1;
+                if (right < size && compare(right, child) < 0) {
+                    child = right;
+                }
+                if (compareHole(child) <= 0) {
+                    break;
+                }
+                copy(child, i); // move the child up into the hole
+                i = child;
+            }
+            write(i, hole.array());
+        }
+        header.putLong(COUNT_OFFSET, size);
+    }
+
+    // Writes the top record into target without removing it
+    public void peek(ByteBuffer target) {
+        if (size == 0) {
+            throw new NoSuchElementException("nothing to peek at");
+        }
+        if (target.remaining() < recordSize) {
+            throw new IllegalArgumentException("target needs " + recordSize + " bytes, has " + target.remaining());
+        }
+        read(0, transfer);
+        target.put(transfer, 0, recordSize);
+    }
+
+    // Returns the number of records in the heap
+    public long count() {
+        return size;
+    }
+
+    // Forces all changes to the file
+    public void flush() {
+        header.force();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    // Doubles the room of the last segment, or maps a new one once the last is full
+    private void grow() throws IOException {
+        int last = segments.size() - 1;
+        long mapped = capacity - (long) last * recordsPerSegment; // records in the last segment
+        if (last >= 0 && mapped < recordsPerSegment) {
+            int records = (int) Math.min(mapped * 2, recordsPerSegment);
+            segments.set(last, map(last, records));
+            capacity += records - mapped;
+        } else {
+            int records = Math.min(INITIAL_RECORDS, recordsPerSegment);
+            segments.add(map(last + 1, records));
+            capacity += records;
+        }
+    }
+
+    private MappedByteBuffer map(int segment, int records) throws IOException {
+        long position = HEADER_SIZE + (long) segment * recordsPerSegment * recordSize;
+        return channel.map(FileChannel.MapMode.READ_WRITE, position, (long) records * recordSize);
+    }
+
+    private MappedByteBuffer segment(long index) {
+        return segments.get((int) (index / recordsPerSegment));
+    }
+
+    private int offset(long index) {
+        return (int) (index % recordsPerSegment) * recordSize;
+    }
+
+    // Compares the record being sifted with the one stored at index
+    private int compareHole(long index) {
+        return comp.compare(hole, 0, segment(index), offset(index));
+    }
+
+    private int compare(long first, long second) {
+        return comp.compare(segment(first), offset(first), segment(second), offset(second));
+    }
+
+    private void read(long index, byte[] into) {
+        MappedByteBuffer segment = segment(index);
+        segment.position(offset(index));
+        segment.get(into, 0, recordSize);
+    }
+
+    private void write(long index, byte[] from) {
+        MappedByteBuffer segment = segment(index);
+        segment.position(offset(index));
+        segment.put(from, 0, recordSize);
+    }
+
+    private void copy(long from, long to) {
+        read(from, transfer);
+        write(to, transfer);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedBinaryHeap: " + size + " records of " + recordSize + " bytes";
+    }
+}
@@ -0,0 +1,129 @@
+package fr.istic.vv;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+// Heap-ordered tree where any node may have any number of children (first child /
+// next sibling links). push and meld only link two roots, so they run in O(1);
+// pop merges the children of the root two by two, in amortized O(log n).
+public class PairingHeap<T> implements Heap<T> {
+
+    private static final class Node<T> {
+        final T element;
+        Node<T> child;   // first child
+        Node<T> sibling; // next child of the same parent
+
+        Node(T element) {
+            this.element = element;
+        }
+    }
+
+    private final Comparator<T> comp; // comparator, used for comparisons
+    private Node<T> root;
+    private int size;
+
+    // Constructor (creates heap and sets comparator)
+    public PairingHeap(Comparator<T> comp) {
+        this.comp = comp;
+    }
+
+    @Override
+    public void push(T element) {
+        if (element == null) {
+            throw new NullPointerException("Cannot insert null into the heap");
+        }
+        root = link(root, new Node<>(element));
+        size++;
+    }
+
+    @Override
+    public T pop() {
+        if (root == null) {
+            throw new NoSuchElementException("empty!"); // can't pop from empty heap
+        }
+        T top = root.element;
+        root = combine(root.child);
+        size--;
+        return top;
+    }
+
+    @Override
+    public T peek() {
+        if (root == null) {
+            throw new NoSuchElementException("nothing to peek at");
+        }
+        return root.element;
+    }
+
+    @Override
+    public int count() {
+        return size;
+    }
+
+    // Moves all the elements of other into this heap in O(1), leaving other empty.
+    // Both heaps are expected to use the same ordering.
+    public void meld(PairingHeap<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot meld a heap with itself");
+        }
+        root = link(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+    }
+
+    // Makes the greater of two roots (with no siblings) the first child of the other one
+    private Node<T> link(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (comp.compare(b.element, a.element) < 0) {
+            Node<T> tmp = a;
+            a = b;
+            b = tmp;
+        }
+        b.sibling = a.child;
+        a.child = b;
+        return a;
+    }
+
+    // Two-pass pairing of a list of siblings, without recursion so deep heaps are fine
+    private Node<T> combine(Node<T> first) {
+        if (first == null) {
+            return null;
+        }
+        // first pass: link siblings two by two, left to right, stacking the results
+        Node<T> pairs = null;
+        while (first != null) {
+            Node<T> a = first;
+            Node<T> b = a.sibling;
+            first = b == null ? null : b.sibling;
+            a.sibling = null;
+            if (b != null) {
+                b.sibling = null;
+            }
+            Node<T> linked = link(a, b);
+            linked.sibling = pairs;
+            pairs = linked;
+        }
+        // second pass: link the stacked results, right to left
+        Node<T> result = pairs;
+        pairs = pairs.sibling;
+        result.sibling = null;
+        while (pairs != null) {
+            Node<T> next = pairs.sibling;
+            pairs.sibling = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PairingHeap: " + size + " elements" + (root == null ? "" : ", top " + root.element);
+    }
+}
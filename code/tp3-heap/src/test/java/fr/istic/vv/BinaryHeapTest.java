@@ -2,8 +2,16 @@ package fr.istic.vv;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -173,4 +181,218 @@ public class BinaryHeapTest {
         assertEquals(20, heap.pop()); // Remove next smallest
     }
 
-}
\ No newline at end of file
+    @Test
+    void testConstructor_FromCollection() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder(), Arrays.asList(9, 4, 7, 1, 8, 2));
+
+        assertEquals(6, heap.count());
+        assertEquals(1, heap.peek()); // Smallest element must be the root after heapify
+        assertEquals("BinaryHeap: [1, 4, 2, 9, 8, 7]", heap.toString()); // Bottom-up heap layout
+    }
+
+    @Test
+    void testConstructor_FromArray() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder(), new Integer[]{3, 2, 1});
+
+        assertEquals(3, heap.count());
+        assertEquals(1, heap.peek());
+    }
+
+    @Test
+    void testConstructor_NullElement() {
+        assertThrows(NullPointerException.class,
+                () -> new BinaryHeap<Integer>(Comparator.naturalOrder(), Arrays.asList(1, null, 3)));
+    }
+
+    @Test
+    void testPushAll_LargeBatch() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder());
+        heap.push(5);
+        heap.pushAll(Arrays.asList(8, 3, 6, 0));
+
+        assertEquals(5, heap.count());
+        assertEquals(0, heap.peek()); // Root restored by heapify
+    }
+
+    @Test
+    void testPushAll_SmallBatch() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder(), Arrays.asList(4, 6, 9));
+        heap.pushAll(Collections.singletonList(2));
+
+        assertEquals(4, heap.count());
+        assertEquals(2, heap.peek()); // Pushed one by one
+    }
+
+    @Test
+    void testPushAll_NullElementLeavesHeapUnchanged() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder());
+        heap.push(1);
+
+        assertThrows(NullPointerException.class, () -> heap.pushAll(Arrays.asList(2, null)));
+        assertEquals(1, heap.count()); // Nothing was added
+    }
+
+    @Test
+    void testPop_ComparesBothChildren() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder());
+        heap.push(1);
+        heap.push(5);
+        heap.push(2); // right child smaller than left child
+        heap.push(6);
+
+        assertEquals(1, heap.pop());
+        assertEquals(2, heap.pop()); // right child must be promoted, not the left one
+        assertEquals(5, heap.pop());
+        assertEquals(6, heap.pop());
+    }
+
+    @Test
+    void testRandomOperations_HeapInvariant() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder());
+            PriorityQueue<Integer> reference = new PriorityQueue<>();
+
+            for (int i = 0; i < 500; i++) {
+                int op = random.nextInt(10);
+                if (op < 6 || reference.isEmpty()) {
+                    int value = random.nextInt(100); // small range to get many duplicates
+                    heap.push(value);
+                    reference.add(value);
+                } else if (op < 9) {
+                    assertEquals(reference.poll(), heap.pop());
+                } else {
+                    List<Integer> batch = new ArrayList<>();
+                    for (int j = random.nextInt(50); j > 0; j--) {
+                        batch.add(random.nextInt(100));
+                    }
+                    heap.pushAll(batch);
+                    reference.addAll(batch);
+                }
+                assertEquals(reference.size(), heap.count());
+                if (!reference.isEmpty()) {
+                    assertEquals(reference.peek(), heap.peek()); // Root is always the smallest
+                }
+            }
+            while (!reference.isEmpty()) {
+                assertEquals(reference.poll(), heap.pop());
+            }
+        }
+    }
+
+    @Test
+    void testBounded_KeepsGreatestElements() {
+        BinaryHeap<Integer> heap = BinaryHeap.bounded(Comparator.<Integer>naturalOrder(), 3);
+        heap.pushAll(Arrays.asList(5, 1, 9, 7, 3, 8));
+
+        assertEquals(3, heap.count()); // Never more than k elements
+        assertEquals(7, heap.pop()); // Root is the weakest of the three greatest
+        assertEquals(8, heap.pop());
+        assertEquals(9, heap.pop());
+    }
+
+    @Test
+    void testBounded_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryHeap.bounded(Comparator.<Integer>naturalOrder(), 0));
+    }
+
+    @Test
+    void testReplaceTop() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder(), Arrays.asList(2, 4, 6));
+
+        assertEquals(2, heap.replaceTop(5)); // Old root returned
+        assertEquals(4, heap.peek());
+        assertEquals(3, heap.count());
+        assertThrows(NoSuchElementException.class,
+                () -> new BinaryHeap<Integer>(Comparator.naturalOrder()).replaceTop(1));
+    }
+
+    @Test
+    void testTopK_SequentialStream() {
+        List<Integer> top = Stream.of(4, 10, 1, 7, 10, 3).collect(BinaryHeap.topK(3, Comparator.<Integer>naturalOrder()));
+        assertEquals(Arrays.asList(10, 10, 7), top); // Greatest first
+    }
+
+    @Test
+    void testTopK_ParallelStream() {
+        List<Integer> top = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(BinaryHeap.topK(5, Comparator.<Integer>naturalOrder()));
+        assertEquals(Arrays.asList(99_999, 99_998, 99_997, 99_996, 99_995), top);
+    }
+
+    @Test
+    void testDrainTo_MaxElements() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder(), Arrays.asList(5, 3, 9, 1));
+        List<Integer> target = new ArrayList<>();
+
+        assertEquals(3, heap.drainTo(target, 3));
+        assertEquals(Arrays.asList(1, 3, 5), target); // Drained in heap order
+        assertEquals(1, heap.count());
+        assertEquals(1, heap.drainTo(target, 10)); // Only what is left
+    }
+
+    @Test
+    void testPopBatch() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder(), Arrays.asList(4, 2, 8));
+        Integer[] batch = new Integer[4];
+
+        assertEquals(3, heap.popBatch(batch, 4));
+        assertArrayEquals(new Integer[]{2, 4, 8, null}, batch);
+        assertEquals(0, heap.count());
+        assertThrows(IllegalArgumentException.class, () -> heap.popBatch(batch, 5));
+    }
+
+    @Test
+    void testIterator_DoesNotRemove() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder());
+        heap.push(10);
+        heap.push(5);
+        heap.push(7);
+
+        List<Integer> seen = new ArrayList<>();
+        for (Integer value : heap) {
+            seen.add(value);
+        }
+
+        assertEquals(Arrays.asList(5, 10, 7), seen); // Order of the underlying array
+        assertEquals(3, heap.count());
+    }
+
+    @Test
+    void testStream_Parallel() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(Comparator.naturalOrder());
+        for (int i = 1; i <= 10_000; i++) {
+            heap.push(i);
+        }
+
+        assertEquals(50_005_000L, heap.stream().parallel().mapToLong(Integer::longValue).sum());
+        assertEquals(10_000, heap.count());
+    }
+
+    @Test
+    void testSort_InPlace() {
+        Random random = new Random(5);
+        Integer[] values = new Integer[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(200);
+        }
+        Integer[] expected = values.clone();
+        Arrays.sort(expected);
+
+        BinaryHeap.sort(values, Comparator.<Integer>naturalOrder());
+
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    void testSort_EmptyAndSingleton() {
+        String[] empty = new String[0];
+        BinaryHeap.sort(empty, Comparator.<String>naturalOrder());
+        assertEquals(0, empty.length);
+
+        String[] single = {"a"};
+        BinaryHeap.sort(single, Comparator.<String>naturalOrder());
+        assertArrayEquals(new String[]{"a"}, single);
+    }
+
+}
@@ -0,0 +1,118 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentHeapTest {
+
+    @Test
+    void testConstructor_InvalidStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentHeap<Integer>(Comparator.naturalOrder(), 0));
+    }
+
+    @Test
+    void testPush_NullElement() {
+        ConcurrentHeap<Integer> heap = new ConcurrentHeap<Integer>(Comparator.naturalOrder());
+        assertThrows(NullPointerException.class, () -> heap.push(null));
+    }
+
+    @Test
+    void testPop_EmptyHeap() {
+        ConcurrentHeap<Integer> heap = new ConcurrentHeap<Integer>(Comparator.naturalOrder());
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, heap::peek);
+    }
+
+    @Test
+    void testAsHeap_SingleStripeIsExact() {
+        Heap<Integer> heap = new ConcurrentHeap<Integer>(Comparator.naturalOrder(), 1);
+        heap.push(7);
+        heap.push(3);
+        heap.push(5);
+
+        assertEquals(3, heap.peek());
+        assertEquals(3, heap.pop());
+        assertEquals(5, heap.pop());
+        assertEquals(1, heap.count());
+    }
+
+    @Test
+    void testTake_TimesOutOnEmptyHeap() throws InterruptedException {
+        ConcurrentHeap<Integer> heap = new ConcurrentHeap<Integer>(Comparator.naturalOrder());
+        assertNull(heap.take(10, TimeUnit.MILLISECONDS)); // Nothing arrives, null after the timeout
+    }
+
+    @Test
+    void testSingleStripe_ExactOrder() throws InterruptedException {
+        ConcurrentHeap<Integer> heap = new ConcurrentHeap<Integer>(Comparator.naturalOrder(), 1);
+        heap.push(15);
+        heap.push(10);
+        heap.push(20);
+        heap.push(8);
+
+        assertEquals(8, heap.peek());
+        assertEquals(8, heap.pop());
+        assertEquals(10, heap.take());
+        assertEquals(15, heap.take(1, TimeUnit.SECONDS));
+        assertEquals(1, heap.count());
+    }
+
+    @Test
+    void testPeek_ReturnsSmallestRoot() {
+        ConcurrentHeap<Integer> heap = new ConcurrentHeap<Integer>(Comparator.naturalOrder(), 8);
+        for (int i = 100; i > 0; i--) {
+            heap.push(i);
+        }
+
+        assertEquals(1, heap.peek()); // Best root across all stripes
+        assertEquals(100, heap.count());
+    }
+
+    @Test
+    void testConcurrentProducersAndConsumers_EveryElementPoppedOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 5000;
+        int total = producers * perProducer;
+        ConcurrentHeap<Integer> heap = new ConcurrentHeap<Integer>(Comparator.naturalOrder(), 8);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        ExecutorService pool = Executors.newFixedThreadPool(2 * producers);
+        try {
+            Future<?>[] futures = new Future<?>[2 * producers];
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures[p] = pool.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        heap.push(base + i);
+                    }
+                });
+                futures[producers + p] = pool.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        Integer value = heap.take(10, TimeUnit.SECONDS);
+                        assertNotNull(value);
+                        seen.incrementAndGet(value);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(0, heap.count());
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i), "element " + i); // No loss, no duplicate
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DaryHeapTest {
+
+    @Test
+    void testConstructor_InvalidArity() {
+        assertThrows(IllegalArgumentException.class, () -> new DaryHeap<Integer>(Comparator.naturalOrder(), 1));
+    }
+
+    @Test
+    void testPush_NullElement() {
+        DaryHeap<Integer> heap = new DaryHeap<Integer>(Comparator.naturalOrder(), 4);
+        assertThrows(NullPointerException.class, () -> heap.push(null));
+    }
+
+    @Test
+    void testPop_EmptyHeap() {
+        DaryHeap<Integer> heap = new DaryHeap<Integer>(Comparator.naturalOrder(), 4);
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, heap::peek);
+    }
+
+    @Test
+    void testPushAndPop_FourChildren() {
+        DaryHeap<Integer> heap = new DaryHeap<Integer>(Comparator.naturalOrder(), 4);
+        heap.push(15);
+        heap.push(10);
+        heap.push(20);
+        heap.push(8);
+        heap.push(25);
+        heap.push(3);
+
+        assertEquals(3, heap.peek()); // Smallest element must be the root
+        assertEquals(3, heap.pop());
+        assertEquals(8, heap.pop());
+        assertEquals(10, heap.pop());
+        assertEquals(3, heap.count());
+    }
+
+    @Test
+    void testPop_MatchesPriorityQueueForEachArity() {
+        for (int arity : new int[]{2, 3, 4, 8}) {
+            DaryHeap<Integer> heap = new DaryHeap<Integer>(Comparator.reverseOrder(), arity);
+            PriorityQueue<Integer> reference = new PriorityQueue<>(Comparator.reverseOrder());
+            Random random = new Random(arity);
+
+            for (int i = 0; i < 1000; i++) {
+                if (random.nextInt(3) > 0 || reference.isEmpty()) {
+                    int value = random.nextInt(500);
+                    heap.push(value);
+                    reference.add(value);
+                } else {
+                    assertEquals(reference.poll(), heap.pop(), "arity " + arity);
+                }
+            }
+            while (!reference.isEmpty()) {
+                assertEquals(reference.poll(), heap.pop(), "arity " + arity);
+            }
+            assertEquals(0, heap.count());
+        }
+    }
+
+    @Test
+    void testToString() {
+        DaryHeap<Integer> heap = new DaryHeap<Integer>(Comparator.naturalOrder(), 4);
+        heap.push(10);
+        heap.push(5);
+        heap.push(7);
+
+        assertEquals("DaryHeap: [5, 10, 7]", heap.toString()); // Both children sit under the root
+        assertEquals(4, heap.arity());
+    }
+}
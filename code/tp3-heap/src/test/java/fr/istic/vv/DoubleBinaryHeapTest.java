@@ -0,0 +1,65 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoubleBinaryHeapTest {
+
+    @Test
+    void testPush_ValidElements() {
+        DoubleBinaryHeap heap = new DoubleBinaryHeap();
+        heap.push(0.5);
+        heap.push(-1.25);
+        heap.push(3.0);
+
+        assertEquals(-1.25, heap.peek()); // Smallest score must be the root
+        assertEquals(3, heap.count());
+    }
+
+    @Test
+    void testPop_EmptyHeap() {
+        DoubleBinaryHeap heap = new DoubleBinaryHeap();
+        assertThrows(NoSuchElementException.class, heap::pop); // Cannot pop from an empty heap
+    }
+
+    @Test
+    void testPop_FollowsDoubleCompareOrder() {
+        DoubleBinaryHeap heap = new DoubleBinaryHeap();
+        heap.push(Double.NaN);
+        heap.push(0.0);
+        heap.push(Double.POSITIVE_INFINITY);
+        heap.push(-0.0);
+        heap.push(Double.NEGATIVE_INFINITY);
+
+        assertEquals(Double.NEGATIVE_INFINITY, heap.pop());
+        assertEquals(-0.0, heap.pop()); // -0.0 comes before 0.0, as in Double.compare
+        assertEquals(0.0, heap.pop());
+        assertEquals(Double.POSITIVE_INFINITY, heap.pop());
+        assertTrue(Double.isNaN(heap.pop())); // NaN is considered the biggest value
+    }
+
+    @Test
+    void testPop_ReversedOrdering() {
+        DoubleBinaryHeap heap = new DoubleBinaryHeap(true);
+        heap.push(0.1);
+        heap.push(0.9);
+        heap.push(0.5);
+
+        assertEquals(0.9, heap.pop()); // Best score first in a max-heap
+        assertEquals(0.5, heap.pop());
+        assertEquals(0.1, heap.pop());
+        assertEquals(0, heap.count());
+    }
+
+    @Test
+    void testToString() {
+        DoubleBinaryHeap heap = new DoubleBinaryHeap();
+        heap.push(2.5);
+        heap.push(1.5);
+
+        assertEquals("DoubleBinaryHeap: [1.5, 2.5]", heap.toString());
+    }
+}
@@ -0,0 +1,121 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedBinaryHeapTest {
+
+    @Test
+    void testPush_ReturnsDistinctHandles() {
+        IndexedBinaryHeap<Integer> heap = new IndexedBinaryHeap<Integer>(Comparator.naturalOrder());
+        int h1 = heap.push(10);
+        int h2 = heap.push(5);
+
+        assertNotEquals(h1, h2);
+        assertEquals(10, heap.get(h1));
+        assertEquals(5, heap.get(h2));
+        assertEquals(5, heap.peek()); // Smallest element must be the root
+    }
+
+    @Test
+    void testPush_NullElement() {
+        IndexedBinaryHeap<Integer> heap = new IndexedBinaryHeap<Integer>(Comparator.naturalOrder());
+        assertThrows(NullPointerException.class, () -> heap.push(null));
+    }
+
+    @Test
+    void testPop_EmptyHeap() {
+        IndexedBinaryHeap<Integer> heap = new IndexedBinaryHeap<Integer>(Comparator.naturalOrder());
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, heap::peek);
+    }
+
+    @Test
+    void testDecreaseKey_MovesElementToRoot() {
+        IndexedBinaryHeap<Integer> heap = new IndexedBinaryHeap<Integer>(Comparator.naturalOrder());
+        heap.push(3);
+        heap.push(7);
+        int handle = heap.push(20);
+
+        heap.decreaseKey(handle, 1);
+
+        assertEquals(1, heap.pop());
+        assertEquals(3, heap.pop());
+        assertEquals(7, heap.pop());
+    }
+
+    @Test
+    void testDecreaseKey_RejectsGreaterElement() {
+        IndexedBinaryHeap<Integer> heap = new IndexedBinaryHeap<Integer>(Comparator.naturalOrder());
+        int handle = heap.push(5);
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(handle, 6));
+    }
+
+    @Test
+    void testIncreaseKey_MovesElementDown() {
+        IndexedBinaryHeap<Integer> heap = new IndexedBinaryHeap<Integer>(Comparator.naturalOrder());
+        int handle = heap.push(1);
+        heap.push(4);
+        heap.push(6);
+
+        heap.increaseKey(handle, 10);
+
+        assertEquals(4, heap.pop());
+        assertEquals(6, heap.pop());
+        assertEquals(10, heap.pop());
+        assertThrows(IllegalArgumentException.class, () -> heap.increaseKey(heap.push(5), 2));
+    }
+
+    @Test
+    void testRemove_InvalidatesHandle() {
+        IndexedBinaryHeap<Integer> heap = new IndexedBinaryHeap<Integer>(Comparator.naturalOrder());
+        heap.push(2);
+        int handle = heap.push(8);
+        heap.push(5);
+
+        assertEquals(8, heap.remove(handle));
+        assertFalse(heap.contains(handle));
+        assertThrows(NoSuchElementException.class, () -> heap.get(handle));
+        assertEquals(2, heap.count());
+    }
+
+    @Test
+    void testRandomOperations_MatchSortedReference() {
+        IndexedBinaryHeap<Integer> heap = new IndexedBinaryHeap<Integer>(Comparator.naturalOrder());
+        List<Integer> handles = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0 || handles.isEmpty()) {
+                handles.add(heap.push(random.nextInt(1000)));
+            } else {
+                int handle = handles.get(random.nextInt(handles.size()));
+                if (op == 1) {
+                    heap.update(handle, random.nextInt(1000));
+                } else if (op == 2) {
+                    heap.remove(handle);
+                    handles.remove(Integer.valueOf(handle));
+                } else {
+                    int top = heap.peek();
+                    assertEquals(top, heap.pop());
+                    handles.removeIf(h -> !heap.contains(h));
+                }
+            }
+        }
+
+        int previous = Integer.MIN_VALUE;
+        while (heap.count() > 0) {
+            int value = heap.pop();
+            assertTrue(previous <= value); // Elements come out in order
+            previous = value;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntBinaryHeapTest {
+
+    @Test
+    void testPush_ValidElements() {
+        IntBinaryHeap heap = new IntBinaryHeap();
+        heap.push(10);
+        heap.push(5);
+        heap.push(20);
+
+        assertEquals(5, heap.peek()); // Smallest element must be the root
+        assertEquals(3, heap.count());
+    }
+
+    @Test
+    void testPop_EmptyHeap() {
+        IntBinaryHeap heap = new IntBinaryHeap();
+        assertThrows(NoSuchElementException.class, heap::pop); // Cannot pop from an empty heap
+    }
+
+    @Test
+    void testPeek_EmptyHeap() {
+        IntBinaryHeap heap = new IntBinaryHeap();
+        assertThrows(NoSuchElementException.class, heap::peek); // Cannot peek into an empty heap
+    }
+
+    @Test
+    void testPop_ReturnsElementsInOrder() {
+        IntBinaryHeap heap = new IntBinaryHeap();
+        int[] values = {7, 3, 10, 1, 3, -4, 8, 2};
+        for (int value : values) {
+            heap.push(value);
+        }
+
+        int[] expected = {-4, 1, 2, 3, 3, 7, 8, 10};
+        for (int value : expected) {
+            assertEquals(value, heap.pop());
+        }
+        assertEquals(0, heap.count()); // Heap is empty now
+    }
+
+    @Test
+    void testPop_ReversedOrdering() {
+        IntBinaryHeap heap = new IntBinaryHeap(true);
+        heap.push(4);
+        heap.push(12);
+        heap.push(Integer.MIN_VALUE);
+        heap.push(Integer.MAX_VALUE);
+
+        assertEquals(Integer.MAX_VALUE, heap.pop()); // Biggest first in a max-heap
+        assertEquals(12, heap.pop());
+        assertEquals(4, heap.pop());
+        assertEquals(Integer.MIN_VALUE, heap.pop());
+    }
+
+    @Test
+    void testPush_GrowsBeyondInitialCapacity() {
+        IntBinaryHeap heap = new IntBinaryHeap();
+        for (int i = 1000; i > 0; i--) {
+            heap.push(i);
+        }
+
+        assertEquals(1000, heap.count());
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i, heap.pop());
+        }
+    }
+
+    @Test
+    void testToString() {
+        IntBinaryHeap heap = new IntBinaryHeap();
+        assertEquals("IntBinaryHeap: []", heap.toString());
+
+        heap.push(10);
+        heap.push(5);
+        heap.push(7);
+
+        assertEquals("IntBinaryHeap: [5, 10, 7]", heap.toString()); // Order of the underlying array
+    }
+}
@@ -0,0 +1,63 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongBinaryHeapTest {
+
+    @Test
+    void testPush_ValidElements() {
+        LongBinaryHeap heap = new LongBinaryHeap();
+        heap.push(1_700_000_000_000L);
+        heap.push(1_600_000_000_000L);
+        heap.push(1_800_000_000_000L);
+
+        assertEquals(1_600_000_000_000L, heap.peek()); // Earliest timestamp must be the root
+        assertEquals(3, heap.count());
+    }
+
+    @Test
+    void testPop_EmptyHeap() {
+        LongBinaryHeap heap = new LongBinaryHeap();
+        assertThrows(NoSuchElementException.class, heap::pop); // Cannot pop from an empty heap
+    }
+
+    @Test
+    void testPop_ReturnsElementsInOrder() {
+        LongBinaryHeap heap = new LongBinaryHeap();
+        long[] values = {Long.MAX_VALUE, 3, 10, Long.MIN_VALUE, 3, 0};
+        for (long value : values) {
+            heap.push(value);
+        }
+
+        long[] expected = {Long.MIN_VALUE, 0, 3, 3, 10, Long.MAX_VALUE};
+        for (long value : expected) {
+            assertEquals(value, heap.pop());
+        }
+        assertEquals(0, heap.count());
+    }
+
+    @Test
+    void testPop_ReversedOrdering() {
+        LongBinaryHeap heap = new LongBinaryHeap(true);
+        for (long i = 0; i < 100; i++) {
+            heap.push(i * 31 % 100); // Permutation of 0..99
+        }
+
+        for (long i = 99; i >= 0; i--) {
+            assertEquals(i, heap.pop()); // Biggest first in a max-heap
+        }
+    }
+
+    @Test
+    void testToString() {
+        LongBinaryHeap heap = new LongBinaryHeap();
+        heap.push(2L);
+        heap.push(1L);
+
+        assertEquals("LongBinaryHeap: [1, 2]", heap.toString());
+    }
+}
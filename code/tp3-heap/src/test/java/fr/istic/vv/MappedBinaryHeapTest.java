@@ -0,0 +1,135 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedBinaryHeapTest {
+
+    private static final int RECORD_SIZE = 16; // long key + long payload
+
+    @TempDir
+    Path dir;
+
+    private static ByteBuffer record(long key, long payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        buffer.putLong(key).putLong(payload).flip();
+        return buffer;
+    }
+
+    private static long popKey(MappedBinaryHeap heap) {
+        ByteBuffer target = ByteBuffer.allocate(RECORD_SIZE);
+        heap.pop(target);
+        return target.getLong(0);
+    }
+
+    @Test
+    void testPushAndPop_OrderedByKey() throws IOException {
+        try (MappedBinaryHeap heap = MappedBinaryHeap.open(dir.resolve("heap.bin"), RECORD_SIZE,
+                MappedBinaryHeap.RecordComparator.longKey(0))) {
+            heap.push(record(15, 1));
+            heap.push(record(10, 2));
+            heap.push(record(20, 3));
+            heap.push(record(8, 4));
+
+            ByteBuffer top = ByteBuffer.allocate(RECORD_SIZE);
+            heap.peek(top);
+            assertEquals(8, top.getLong(0)); // Smallest key must be the root
+            assertEquals(4, top.getLong(8)); // Payload travels with its key
+
+            assertEquals(8, popKey(heap));
+            assertEquals(10, popKey(heap));
+            assertEquals(2, heap.count());
+        }
+    }
+
+    @Test
+    void testPop_EmptyHeap() throws IOException {
+        try (MappedBinaryHeap heap = MappedBinaryHeap.open(dir.resolve("heap.bin"), RECORD_SIZE,
+                MappedBinaryHeap.RecordComparator.longKey(0))) {
+            assertThrows(NoSuchElementException.class, () -> heap.pop(ByteBuffer.allocate(RECORD_SIZE)));
+        }
+    }
+
+    @Test
+    void testPush_RecordTooShort() throws IOException {
+        try (MappedBinaryHeap heap = MappedBinaryHeap.open(dir.resolve("heap.bin"), RECORD_SIZE,
+                MappedBinaryHeap.RecordComparator.longKey(0))) {
+            assertThrows(IllegalArgumentException.class, () -> heap.push(ByteBuffer.allocate(8)));
+        }
+    }
+
+    @Test
+    void testReopen_KeepsContents() throws IOException {
+        Path file = dir.resolve("heap.bin");
+        try (MappedBinaryHeap heap = MappedBinaryHeap.open(file, RECORD_SIZE, MappedBinaryHeap.RecordComparator.longKey(0))) {
+            heap.push(record(3, 0));
+            heap.push(record(1, 0));
+            heap.push(record(2, 0));
+        }
+
+        try (MappedBinaryHeap heap = MappedBinaryHeap.open(file, RECORD_SIZE, MappedBinaryHeap.RecordComparator.longKey(0))) {
+            assertEquals(3, heap.count()); // Survives the restart
+            assertEquals(1, popKey(heap));
+            assertEquals(2, popKey(heap));
+            assertEquals(3, popKey(heap));
+        }
+    }
+
+    @Test
+    void testReopen_RecordSizeMismatch() throws IOException {
+        Path file = dir.resolve("heap.bin");
+        MappedBinaryHeap.open(file, RECORD_SIZE, MappedBinaryHeap.RecordComparator.longKey(0)).close();
+
+        assertThrows(IOException.class, () -> MappedBinaryHeap.open(file, 8, MappedBinaryHeap.RecordComparator.longKey(0)));
+    }
+
+    @Test
+    void testManySegments_MatchesPriorityQueue() throws IOException {
+        Random random = new Random(3);
+        PriorityQueue<Long> reference = new PriorityQueue<>();
+        // 4 records per segment, so the heap spans hundreds of mappings
+        try (MappedBinaryHeap heap = new MappedBinaryHeap(dir.resolve("heap.bin"), RECORD_SIZE,
+                MappedBinaryHeap.RecordComparator.unsignedBytes(8), 4 * RECORD_SIZE)) {
+            for (int i = 0; i < 2000; i++) {
+                if (random.nextInt(3) > 0 || reference.isEmpty()) {
+                    long key = random.nextInt(1_000_000); // non-negative, so unsigned order is numeric order
+                    heap.push(record(key, i));
+                    reference.add(key);
+                } else {
+                    assertEquals(reference.poll(), popKey(heap));
+                }
+            }
+            while (!reference.isEmpty()) {
+                assertEquals(reference.poll(), popKey(heap));
+            }
+            assertEquals(0, heap.count());
+        }
+    }
+
+    @Test
+    void testFileSize_GrowsWithRecords() throws IOException {
+        Path file = dir.resolve("heap.bin");
+        try (MappedBinaryHeap heap = MappedBinaryHeap.open(file, RECORD_SIZE, MappedBinaryHeap.RecordComparator.longKey(0))) {
+            heap.push(record(1, 1));
+        }
+        assertTrue(Files.size(file) <= 16 + 64 * RECORD_SIZE); // Not a whole segment for one record
+
+        try (MappedBinaryHeap heap = MappedBinaryHeap.open(file, RECORD_SIZE, MappedBinaryHeap.RecordComparator.longKey(0))) {
+            for (int i = 0; i < 1000; i++) {
+                heap.push(record(i, i));
+            }
+            assertEquals(1001, heap.count());
+        }
+        assertTrue(Files.size(file) <= 16 + 2 * 1001 * RECORD_SIZE); // At most twice the records
+    }
+}
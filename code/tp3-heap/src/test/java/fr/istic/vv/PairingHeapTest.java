@@ -0,0 +1,102 @@
+package fr.istic.vv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PairingHeapTest {
+
+    @Test
+    void testPush_NullElement() {
+        PairingHeap<Integer> heap = new PairingHeap<Integer>(Comparator.naturalOrder());
+        assertThrows(NullPointerException.class, () -> heap.push(null));
+    }
+
+    @Test
+    void testPop_EmptyHeap() {
+        PairingHeap<Integer> heap = new PairingHeap<Integer>(Comparator.naturalOrder());
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, heap::peek);
+    }
+
+    @Test
+    void testPushAndPop_ThroughHeapInterface() {
+        Heap<Integer> heap = new PairingHeap<Integer>(Comparator.naturalOrder());
+        heap.push(15);
+        heap.push(10);
+        heap.push(20);
+        heap.push(8);
+        heap.push(25);
+
+        assertEquals(8, heap.pop()); // Smallest element removed
+        assertEquals(10, heap.pop()); // Next smallest
+        assertEquals(3, heap.count()); // Three elements remain
+        assertEquals(15, heap.peek()); // Next root
+    }
+
+    @Test
+    void testMeld_MovesAllElements() {
+        PairingHeap<Integer> first = new PairingHeap<Integer>(Comparator.naturalOrder());
+        PairingHeap<Integer> second = new PairingHeap<Integer>(Comparator.naturalOrder());
+        first.push(4);
+        first.push(9);
+        second.push(1);
+        second.push(6);
+
+        first.meld(second);
+
+        assertEquals(4, first.count());
+        assertEquals(0, second.count()); // Other heap is left empty
+        assertEquals(1, first.pop());
+        assertEquals(4, first.pop());
+        assertEquals(6, first.pop());
+        assertEquals(9, first.pop());
+    }
+
+    @Test
+    void testMeld_WithItself() {
+        PairingHeap<Integer> heap = new PairingHeap<Integer>(Comparator.naturalOrder());
+        assertThrows(IllegalArgumentException.class, () -> heap.meld(heap));
+    }
+
+    @Test
+    void testRandomMelds_MatchPriorityQueue() {
+        Random random = new Random(11);
+        PairingHeap<Integer> heap = new PairingHeap<Integer>(Comparator.naturalOrder());
+        PriorityQueue<Integer> reference = new PriorityQueue<>();
+
+        for (int round = 0; round < 50; round++) {
+            PairingHeap<Integer> partition = new PairingHeap<Integer>(Comparator.naturalOrder());
+            for (int i = random.nextInt(200); i > 0; i--) {
+                int value = random.nextInt(1000);
+                partition.push(value);
+                reference.add(value);
+            }
+            heap.meld(partition);
+            for (int i = random.nextInt(100); i > 0 && !reference.isEmpty(); i--) {
+                assertEquals(reference.poll(), heap.pop());
+            }
+        }
+        assertEquals(reference.size(), heap.count());
+        while (!reference.isEmpty()) {
+            assertEquals(reference.poll(), heap.pop());
+        }
+    }
+
+    @Test
+    void testPop_LongSiblingListDoesNotOverflowStack() {
+        PairingHeap<Integer> heap = new PairingHeap<Integer>(Comparator.naturalOrder());
+        for (int i = 0; i <= 200_000; i++) {
+            heap.push(i); // each element becomes a child of the root, giving it a very long child list
+        }
+
+        for (int i = 0; i <= 200_000; i++) {
+            assertEquals(i, heap.pop());
+        }
+    }
+}